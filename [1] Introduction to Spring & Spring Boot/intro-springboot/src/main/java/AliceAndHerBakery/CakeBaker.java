@@ -1,14 +1,17 @@
 package AliceAndHerBakery;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 @Component
 public class CakeBaker  {
 
     @Autowired
+    @Lazy
     Frosting frosting;
     @Autowired
+    @Lazy
     Syrup syrup;
 
     public void bakeCake(){
@@ -16,3 +19,12 @@ public class CakeBaker  {
     }
 
 }
+
+/*
+@Lazy on the injection points: Spring injects a proxy and creates the real Frosting / Syrup (also @Lazy) on the
+first bakeCake() call, not while the context starts. Without it here, injecting them would create them anyway.
+Which implementation is used is still decided at startup by @ConditionalOnProperty (set.frosting / set.syrup).
+That only moves their creation out of the refresh, not out of the startup: IntroductionToSpringBootApplication.run()
+bakes a cake before the application is ready, so /actuator/beanstartup shows them with createdDuring=runners.
+Without that CommandLineRunner the first bakeCake() call after startup would create them (createdDuring=after-startup).
+*/
@@ -1,9 +1,11 @@
 package AliceAndHerBakery;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 @Service
+@Lazy
 @ConditionalOnProperty(value = "set.syrup", havingValue = "chocolate")
 public class ChocolateSyrup implements Syrup{
     @Override
@@ -5,10 +5,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.annotation.Import;
 
 
 
 @SpringBootApplication(scanBasePackages = "AliceAndHerBakery")
+@Import(StartupReportEndpoint.class) // not in the scanned package
 public class IntroductionToSpringBootApplication implements CommandLineRunner {
 
 /*	@Autowired //Spring Boot will inject this bean whenever it's required.
@@ -20,7 +23,10 @@ public class IntroductionToSpringBootApplication implements CommandLineRunner {
 	CakeBaker baker;
 
 	public static void main(String[] args) {
-		SpringApplication.run(IntroductionToSpringBootApplication.class, args);
+		SpringApplication application = new SpringApplication(IntroductionToSpringBootApplication.class);
+		// Keeps every startup step (bean creation, component scan...) in memory -> /actuator/startup, /actuator/beanstartup
+		application.setApplicationStartup(new BufferingApplicationStartup(10_000));
+		application.run(args);
 
 		// Creating an instance of Apple and calling the eatApple method
 		/*Apple obj = new Apple();
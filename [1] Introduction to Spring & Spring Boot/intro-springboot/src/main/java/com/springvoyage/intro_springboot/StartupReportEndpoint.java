@@ -0,0 +1,163 @@
+package com.springvoyage.intro_springboot;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Endpoint(id = "beanstartup")
+public class StartupReportEndpoint {
+
+    private static final String REFRESH_STEP = "spring.context.refresh";
+    private static final String BEAN_STEP = "spring.beans.instantiate";
+    private static final String PARSE_STEP = "spring.context.config-classes.parse";
+
+    private final ApplicationStartup applicationStartup;
+    private final ConfigurableListableBeanFactory beanFactory;
+    private volatile Instant readyAt; // null until ApplicationReadyEvent
+
+    public StartupReportEndpoint(ApplicationStartup applicationStartup, ConfigurableListableBeanFactory beanFactory) {
+        this.applicationStartup = applicationStartup;
+        this.beanFactory = beanFactory;
+    }
+
+//    Runners (CommandLineRunner / ApplicationRunner) have run by then: the application is started for real
+    @EventListener(ApplicationReadyEvent.class)
+    public void applicationReady() {
+        readyAt = Instant.now();
+    }
+
+    @ReadOperation
+    public Map<String, Object> report(@Nullable Integer limit) {
+        // Only recorded when started through main(), which sets the BufferingApplicationStartup -> 404 otherwise
+        if (!(applicationStartup instanceof BufferingApplicationStartup bufferingStartup)) return null;
+        List<StartupTimeline.TimelineEvent> events = bufferingStartup.getBufferedTimeline().getEvents();
+
+        Instant refreshEnd = events.stream()
+                .filter(event -> event.getStartupStep().getName().equals(REFRESH_STEP))
+                .map(StartupTimeline.TimelineEvent::getEndTime)
+                .findFirst().orElse(Instant.MAX);
+
+        Instant ready = readyAt == null ? Instant.MAX : readyAt;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("refreshMs", sumMillis(events, REFRESH_STEP));
+        report.put("startupMs", readyAt == null ? null
+                : millis(Duration.between(bufferingStartup.getBufferedTimeline().getStartTime(), readyAt)));
+        report.put("beans", beans(events, refreshEnd, ready, limit == null ? 20 : limit));
+        report.put("conditions", conditions(events));
+        return report;
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+/*  Slowest beans first. self = own creation time, without the dependencies created while injecting them.
+    createdDuring: "refresh", "runners" (after the refresh but before ApplicationReadyEvent: a lazy bean a
+    CommandLineRunner used, still part of the startup) or "after-startup" (lazy bean first used later on).*/
+    private List<Map<String, Object>> beans(List<StartupTimeline.TimelineEvent> events, Instant refreshEnd, Instant ready,
+                                            int limit) {
+        Map<Long, Duration> dependencyTime = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null && event.getStartupStep().getName().equals(BEAN_STEP)) {
+                dependencyTime.merge(parentId, event.getDuration(), Duration::plus);
+            }
+        }
+
+        Comparator<StartupTimeline.TimelineEvent> slowestFirst =
+                Comparator.comparing((StartupTimeline.TimelineEvent event) -> selfTime(event, dependencyTime)).reversed();
+        return events.stream()
+                .filter(event -> event.getStartupStep().getName().equals(BEAN_STEP))
+                .sorted(slowestFirst)
+                .limit(limit)
+                .map(event -> {
+                    StartupStep step = event.getStartupStep();
+                    Map<String, Object> bean = new LinkedHashMap<>();
+                    bean.put("bean", tag(step, "beanName"));
+                    bean.put("type", tag(step, "beanType"));
+                    bean.put("totalMs", millis(event.getDuration()));
+                    bean.put("selfMs", millis(selfTime(event, dependencyTime)));
+                    bean.put("createdDuring", createdDuring(event.getStartTime(), refreshEnd, ready));
+                    return bean;
+                })
+                .toList();
+    }
+
+/*  Spring doesn't time single condition evaluations, they all run while the configuration classes are parsed
+    (component scan with the @ConditionalOnProperty of the bakery beans, auto-configurations). So: the time of that
+    step plus the outcome of every condition on our own classes.*/
+    private Map<String, Object> conditions(List<StartupTimeline.TimelineEvent> events) {
+        List<Map<String, Object>> outcomes = new ArrayList<>();
+        ConditionEvaluationReport.get(beanFactory).getConditionAndOutcomesBySource().forEach((source, conditions) -> {
+            if (source.startsWith("org.springframework.")) return; // auto-configurations: see /actuator/conditions
+            conditions.forEach(conditionAndOutcome -> {
+                Map<String, Object> outcome = new LinkedHashMap<>();
+                outcome.put("source", source);
+                outcome.put("condition", conditionAndOutcome.getCondition().getClass().getSimpleName());
+                outcome.put("matched", conditionAndOutcome.getOutcome().isMatch());
+                outcome.put("message", conditionAndOutcome.getOutcome().getMessage());
+                outcomes.add(outcome);
+            });
+        });
+
+        Map<String, Object> conditions = new LinkedHashMap<>();
+        conditions.put("configClassParsingMs", sumMillis(events, PARSE_STEP));
+        conditions.put("outcomes", outcomes);
+        return conditions;
+    }
+
+//    Only beans created after ApplicationReadyEvent had their cost moved out of the startup
+    private String createdDuring(Instant createdAt, Instant refreshEnd, Instant ready) {
+        if (createdAt.isBefore(refreshEnd)) return "refresh";
+        return createdAt.isBefore(ready) ? "runners" : "after-startup";
+    }
+
+    private Duration selfTime(StartupTimeline.TimelineEvent event, Map<Long, Duration> dependencyTime) {
+        return event.getDuration().minus(dependencyTime.getOrDefault(event.getStartupStep().getId(), Duration.ZERO));
+    }
+
+    private double sumMillis(List<StartupTimeline.TimelineEvent> events, String stepName) {
+        return millis(events.stream()
+                .filter(event -> event.getStartupStep().getName().equals(stepName))
+                .map(StartupTimeline.TimelineEvent::getDuration)
+                .reduce(Duration.ZERO, Duration::plus));
+    }
+
+    private String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals(key)) return tag.getValue();
+        }
+        return null;
+    }
+
+    private double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
+
+/*
+/actuator/beanstartup?limit=20 -> where the startup time goes: the refresh and the whole startup up to
+ApplicationReadyEvent, the slowest beans (total and self time, and whether they were created during the refresh, by
+the runners that still belong to the startup, or only afterwards because they are lazy), the configuration class
+parsing the conditions are evaluated in, and which @Conditional... on our classes matched.
+/actuator/startup is the raw timeline the report is built from.
+*/
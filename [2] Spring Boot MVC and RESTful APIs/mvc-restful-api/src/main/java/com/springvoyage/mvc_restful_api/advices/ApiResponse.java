@@ -1,32 +1,25 @@
 package com.springvoyage.mvc_restful_api.advices;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
-import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.time.LocalDateTime;
-
+/*
+No LocalDateTime in here anymore -> the timestamp is written by ApiResponseSerializer straight from ApiResponseClock,
+so building an envelope is just one small object holding a reference to the body.
+*/
 @Data
+@NoArgsConstructor
+@JsonSerialize(using = ApiResponseSerializer.class)
 public class ApiResponse<T> {
     private T data;
     private ApiError error;
 
-    @JsonFormat(pattern = "hh:mm:ss dd-MM-YYYY")
-    private LocalDateTime timestamp;
-
-    public ApiResponse() {
-        this.timestamp = LocalDateTime.now();
-    }
-
     public ApiResponse(T data) {
-        this();
         this.data = data;
     }
 
     public ApiResponse(ApiError error) {
-        this();
         this.error = error;
     }
 }
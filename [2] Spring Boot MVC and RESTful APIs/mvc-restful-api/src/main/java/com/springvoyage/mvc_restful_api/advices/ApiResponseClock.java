@@ -0,0 +1,48 @@
+package com.springvoyage.mvc_restful_api.advices;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/*
+Cached clock for the "timestamp" of every ApiResponse.
+The wire format ("hh:mm:ss dd-MM-YYYY") only changes once a second, so instead of LocalDateTime.now() + a formatter
+per response we keep the formatted value of the current second around as a SerializedString (which also caches its
+quoted UTF-8 bytes), and only reformat when the millisecond clock rolls over into a new second.
+*/
+final class ApiResponseClock {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter
+            .ofPattern("hh:mm:ss dd-MM-YYYY")
+            .withZone(ZoneId.systemDefault());
+
+    private record Tick(long epochSecond, SerializedString text) {}
+
+    // Racing threads may format the same second twice, both results are identical so last write wins is fine
+    private static volatile Tick current = format(System.currentTimeMillis());
+
+    private ApiResponseClock() {}
+
+    static SerializedString now() {
+        long millis = System.currentTimeMillis();
+        Tick tick = current;
+        if (tick.epochSecond() != Math.floorDiv(millis, 1000)) {
+            tick = format(millis);
+            current = tick;
+        }
+        return tick.text();
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private static Tick format(long millis) {
+        SerializedString text = new SerializedString(FORMATTER.format(Instant.ofEpochMilli(millis)));
+        text.asQuotedUTF8(); // encode the bytes once here, not on the first response of the second
+        return new Tick(Math.floorDiv(millis, 1000), text);
+    }
+}
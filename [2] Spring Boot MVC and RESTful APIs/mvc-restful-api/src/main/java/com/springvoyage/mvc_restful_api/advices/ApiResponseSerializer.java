@@ -0,0 +1,46 @@
+package com.springvoyage.mvc_restful_api.advices;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/*
+Writes the envelope fields directly around the body -> {"data": ..., "error": ..., "timestamp": "..."}
+No bean introspection for the wrapper itself, field names are pre-encoded and the body goes straight
+to its own (cached) serializer.
+*/
+public class ApiResponseSerializer extends StdSerializer<ApiResponse<?>> {
+
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString ERROR = new SerializedString("error");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+
+    @SuppressWarnings("unchecked")
+    public ApiResponseSerializer() {
+        super((Class<ApiResponse<?>>) (Class<?>) ApiResponse.class);
+    }
+
+    @Override
+    public void serialize(ApiResponse<?> apiResponse, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(apiResponse);
+        writeField(DATA, apiResponse.getData(), gen, provider);
+        writeField(ERROR, apiResponse.getError(), gen, provider);
+        gen.writeFieldName(TIMESTAMP);
+        gen.writeString(ApiResponseClock.now());
+        gen.writeEndObject();
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private void writeField(SerializedString name, Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) gen.writeNull();
+        else provider.defaultSerializeValue(value, gen);
+    }
+}
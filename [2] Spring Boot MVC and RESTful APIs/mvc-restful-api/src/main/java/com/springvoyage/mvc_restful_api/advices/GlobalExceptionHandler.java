@@ -1,7 +1,11 @@
 package com.springvoyage.mvc_restful_api.advices;
 
+import com.springvoyage.mvc_restful_api.exceptions.InvalidPatchException;
+import com.springvoyage.mvc_restful_api.exceptions.InvalidQueryException;
 import com.springvoyage.mvc_restful_api.exceptions.ResourceNotFoundException;
+import com.springvoyage.mvc_restful_api.exceptions.ServiceBusyException;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -24,7 +28,42 @@ public class GlobalExceptionHandler {
         return buildErrorResponseEntity(apiError);
     }
 
+//    PATCH with a field that cannot be patched or a value of the wrong type: the field is named in subErrors
+    @ExceptionHandler(InvalidPatchException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalidPatchException(InvalidPatchException invalidPatchException){
+        ApiError apiError = ApiError
+                .builder()
+                .httpStatus(HttpStatus.BAD_REQUEST)
+                .message(invalidPatchException.getMessage())
+                .subErrors(List.of(invalidPatchException.getField()))
+                .build();
+        return buildErrorResponseEntity(apiError);
+    }
 
+//    Query selecting or sorting on a field that is not queryable: the field is named in subErrors
+    @ExceptionHandler(InvalidQueryException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalidQueryException(InvalidQueryException invalidQueryException){
+        ApiError apiError = ApiError
+                .builder()
+                .httpStatus(HttpStatus.BAD_REQUEST)
+                .message(invalidQueryException.getMessage())
+                .subErrors(List.of(invalidQueryException.getField()))
+                .build();
+        return buildErrorResponseEntity(apiError);
+    }
+
+//    Overload (waited too long for a shared load): same answer as ConcurrencyLimitFilter, the client retries a bit later
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiResponse<?>> handleServiceBusyException(ServiceBusyException serviceBusyException){
+        ApiError apiError = ApiError
+                .builder()
+                .httpStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                .message(serviceBusyException.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiResponse<>(apiError));
+    }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<?>> handleInternalServerError(Exception e){
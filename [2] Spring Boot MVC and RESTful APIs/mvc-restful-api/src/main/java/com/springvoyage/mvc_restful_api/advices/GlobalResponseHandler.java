@@ -3,18 +3,20 @@ package com.springvoyage.mvc_restful_api.advices;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 
-@RestControllerAdvice
+// Only our own controllers get the envelope -> actuator, springdoc & the error controller skip the wrapping cost
+@RestControllerAdvice(basePackages = "com.springvoyage.mvc_restful_api.controllers")
 public class GlobalResponseHandler implements ResponseBodyAdvice<Object> {
 
-//    Mark true -> For each and every response
+//    Only when Jackson writes the body, a String / byte[] body can't be turned into an ApiResponse anyway
     @Override
     public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
-        return true;
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
     }
 
     @Override
@@ -0,0 +1,27 @@
+package com.springvoyage.mvc_restful_api.conifgs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String EMPLOYEES_CACHE = "employees";
+
+/*  In-process Caffeine cache bounded by size and expiring after a TTL, see "employees.cache.spec".
+    The manager is wrapped in TransactionAwareCacheManagerProxy: puts and evictions made inside a transaction
+    only reach the cache after the commit, so a rolled back write never leaves its value in the cache.*/
+    @Bean
+    public CacheManager cacheManager(@Value("${employees.cache.spec}") String cacheSpec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(EMPLOYEES_CACHE);
+        caffeineCacheManager.setCacheSpecification(cacheSpec);
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,32 @@
+package com.springvoyage.mvc_restful_api.conifgs;
+
+import com.springvoyage.mvc_restful_api.services.EmployeeService;
+import com.springvoyage.mvc_restful_api.snapshots.EmployeeSnapshotFile;
+import com.springvoyage.mvc_restful_api.snapshots.EmployeeWarmStart;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/*
+employees.snapshot.enabled=true -> the employees cache survives restarts through a memory-mapped snapshot file
+(EmployeeWarmStart). Off by default: without it every restart starts with an empty cache, as before.
+*/
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(value = "employees.snapshot.enabled", havingValue = "true")
+public class EmployeeSnapshotConfig {
+
+    @Bean
+    EmployeeWarmStart employeeWarmStart(EmployeeService employeeService, CacheManager cacheManager,
+                                        @Value("${employees.snapshot.file}") Path file,
+                                        @Value("${employees.snapshot.overlap:5s}") Duration overlap) {
+        return new EmployeeWarmStart(employeeService, cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE),
+                new EmployeeSnapshotFile(file), overlap);
+    }
+}
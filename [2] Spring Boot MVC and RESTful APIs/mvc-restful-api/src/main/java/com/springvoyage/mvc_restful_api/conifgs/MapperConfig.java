@@ -1,6 +1,11 @@
 package com.springvoyage.mvc_restful_api.conifgs;
 
+import com.springvoyage.mvc_restful_api.mappers.EmployeeMapStructMapper;
+import com.springvoyage.mvc_restful_api.mappers.EmployeeMapper;
+import com.springvoyage.mvc_restful_api.mappers.ModelMapperEmployeeMapper;
+import org.mapstruct.factory.Mappers;
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,4 +16,17 @@ public class MapperConfig {
     public ModelMapper getModelMapper(){
         return new ModelMapper();
     }
+
+//    Default: compile-time generated mapper
+    @Bean
+    @ConditionalOnProperty(value = "mapping.strategy", havingValue = "generated", matchIfMissing = true)
+    public EmployeeMapper getGeneratedEmployeeMapper(){
+        return Mappers.getMapper(EmployeeMapStructMapper.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "mapping.strategy", havingValue = "modelmapper")
+    public EmployeeMapper getModelMapperEmployeeMapper(ModelMapper modelMapper){
+        return new ModelMapperEmployeeMapper(modelMapper);
+    }
 }
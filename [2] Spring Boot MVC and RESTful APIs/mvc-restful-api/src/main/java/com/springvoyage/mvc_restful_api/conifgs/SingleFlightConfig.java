@@ -0,0 +1,23 @@
+package com.springvoyage.mvc_restful_api.conifgs;
+
+import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import com.springvoyage.mvc_restful_api.singleflight.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Configuration
+public class SingleFlightConfig {
+
+/*  Cache misses of getEmployeeById for the same employee share one findById + mapping.
+    Missing employees are never cached, so a hot missing id would otherwise hit the database on every request.*/
+    @Bean
+    SingleFlight<Long, Optional<EmployeeDTO>> employeeLoads(MeterRegistry meterRegistry,
+                                                            @Value("${employees.single-flight.timeout:5s}") Duration timeout) {
+        return new SingleFlight<>("employees", timeout, meterRegistry);
+    }
+}
@@ -0,0 +1,19 @@
+package com.springvoyage.mvc_restful_api.conifgs;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+/*  Beans still created at startup when spring.main.lazy-initialization=true ("startup" profile).
+    Building the EntityManagerFactory (Hibernate metamodel, schema update, second-level cache) is the most expensive
+    part of the refresh; made lazy it would only move that cost into the first request.
+    Static: it is read by a BeanFactoryPostProcessor, before the other beans of this class exist.*/
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EntityManagerFactory.class);
+    }
+}
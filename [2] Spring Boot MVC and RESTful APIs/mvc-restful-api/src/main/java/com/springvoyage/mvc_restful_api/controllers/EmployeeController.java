@@ -1,14 +1,32 @@
 package com.springvoyage.mvc_restful_api.controllers;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.springvoyage.mvc_restful_api.dto.BulkItemResultDTO;
+import com.springvoyage.mvc_restful_api.dto.EmployeeCursorPageDTO;
 import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import com.springvoyage.mvc_restful_api.dto.EmployeeFilterDTO;
+import com.springvoyage.mvc_restful_api.dto.ResourceVersionDTO;
 import com.springvoyage.mvc_restful_api.exceptions.ResourceNotFoundException;
+import com.springvoyage.mvc_restful_api.services.EmployeeBulkService;
 import com.springvoyage.mvc_restful_api.services.EmployeeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -77,23 +95,73 @@ public class EmployeeController {
 //    USING SERVICE CLASS
 
     private final EmployeeService employeeService;
+    private final EmployeeBulkService employeeBulkService;
+    private final ObjectMapper objectMapper;
 
 /*    Using @RequiredArgsConstructor instead of this constructor method
     public EmployeeController(EmployeeService employeeService) {
         this.employeeService = employeeService;
     }*/
 
+/*  Conditional GET: the reads first fetch only the version (row count + latest lastModifiedDate). If it matches
+    the client's If-None-Match / If-Modified-Since the answer is 304 without a body, otherwise the employees are
+    loaded and sent with the ETag / Last-Modified of exactly that body. "no-cache" makes clients revalidate every time.
+    The list has no Last-Modified: a deleted employee would not make it newer.*/
     @GetMapping(path = "/empService")
-    public ResponseEntity<List<EmployeeDTO>> getAllEmployees(){
-        return ResponseEntity.ok(employeeService.getAllEmployees());
+    public ResponseEntity<List<EmployeeDTO>> getAllEmployees(WebRequest webRequest){
+        if (webRequest.checkNotModified(employeeService.getEmployeesVersion().eTag())) return null;
+        List<EmployeeDTO> employees = employeeService.getAllEmployees();
+        return withVersion(employees, ResourceVersionDTO.of(employees, EmployeeDTO::getLastModifiedDate), false);
+    }
+
+//    Cursor pagination: pass the "nextCursor" of the previous page as "after"
+    @GetMapping(path = "/empService/page")
+    public ResponseEntity<EmployeeCursorPageDTO> getEmployeesPage(@RequestParam(defaultValue = "0") Long after,
+                                                                  @RequestParam(defaultValue = "100") int size){
+        return ResponseEntity.ok(employeeService.getEmployeesAfter(after, size));
+    }
+
+/*    Server-side filtering / sorting / field selection, e.g.
+    /empService/query?role=ADMIN&isActive=true&minSalary=5000&sort=salary,desc&fields=id,name,salary&size=50
+    Only the requested fields are selected from the DB and returned.*/
+    @GetMapping(path = "/empService/query")
+    public ResponseEntity<List<Map<String, Object>>> queryEmployees(@ModelAttribute EmployeeFilterDTO filter,
+                                                                    @SortDefault(sort = "id") Sort sort,
+                                                                    @RequestParam(required = false) List<String> fields,
+                                                                    @RequestParam(defaultValue = "100") int size){
+        return ResponseEntity.ok(employeeService.queryEmployees(filter, sort, fields, size));
+    }
+
+//    Streams every employee as NDJSON (one JSON object per line) using chunked transfer encoding
+    @GetMapping(path = "/empService/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees(){
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter sequenceWriter = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                employeeService.streamAllEmployees(employeeDTO -> {
+                    try {
+                        sequenceWriter.write(employeeDTO);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping(path = "/empService/{id}")
-    public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id){
+    public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id, WebRequest webRequest){
+        ResourceVersionDTO currentVersion = employeeService.getEmployeeVersion(id); // 404 if the employee does not exist
+        if (webRequest.checkNotModified(currentVersion.eTag(), currentVersion.lastModifiedMillis())) return null;
         Optional<EmployeeDTO> employeeDTO =  employeeService.getEmployeeById(id);
         return employeeDTO
-                .map(ResponseEntity::ok) // If present, return HTTP 200 with the employee data
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found")); // If not present, throw exception
+                .map(employee -> withVersion(employee, ResourceVersionDTO.of(List.of(employee), EmployeeDTO::getLastModifiedDate), true))
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found")); // Deleted in the meantime
     }
 
 
@@ -122,5 +190,56 @@ public class EmployeeController {
         if(patchedEmployeeDTO == null) return ResponseEntity.notFound().build();
         return ResponseEntity.ok(patchedEmployeeDTO);
     }
-}
 
+//    BULK ENDPOINTS: accept a JSON array or an NDJSON stream (one item per line) and return one result per item
+
+    @PostMapping(path = "empService/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDTO>> createEmployees(@RequestBody List<EmployeeDTO> employeeDTOs){
+        return ResponseEntity.ok(employeeBulkService.createEmployees(employeeDTOs.iterator()));
+    }
+
+    @PostMapping(path = "empService/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDTO>> createEmployees(InputStream inputStream) throws IOException {
+        try (MappingIterator<EmployeeDTO> employeeDTOs = readValues(inputStream, EmployeeDTO.class)) {
+            return ResponseEntity.ok(employeeBulkService.createEmployees(employeeDTOs));
+        }
+    }
+
+    @PutMapping(path = "empService/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDTO>> updateEmployees(@RequestBody List<EmployeeDTO> employeeDTOs){
+        return ResponseEntity.ok(employeeBulkService.updateEmployees(employeeDTOs.iterator()));
+    }
+
+    @PutMapping(path = "empService/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDTO>> updateEmployees(InputStream inputStream) throws IOException {
+        try (MappingIterator<EmployeeDTO> employeeDTOs = readValues(inputStream, EmployeeDTO.class)) {
+            return ResponseEntity.ok(employeeBulkService.updateEmployees(employeeDTOs));
+        }
+    }
+
+    @DeleteMapping(path = "empService/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDTO>> deleteEmployees(@RequestBody List<Long> ids){
+        return ResponseEntity.ok(employeeBulkService.deleteEmployees(ids.iterator()));
+    }
+
+    @DeleteMapping(path = "empService/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDTO>> deleteEmployees(InputStream inputStream) throws IOException {
+        try (MappingIterator<Long> ids = readValues(inputStream, Long.class)) {
+            return ResponseEntity.ok(employeeBulkService.deleteEmployees(ids));
+        }
+    }
+
+    private <T> MappingIterator<T> readValues(InputStream inputStream, Class<T> type) throws IOException {
+        return objectMapper.readerFor(type).readValues(inputStream);
+    }
+
+    private <T> ResponseEntity<T> withVersion(T body, ResourceVersionDTO version, boolean sendLastModified) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(version.eTag());
+        if (sendLastModified && version.lastModifiedMillis() >= 0) {
+            response.lastModified(version.lastModifiedMillis());
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,21 @@
+package com.springvoyage.mvc_restful_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+//Outcome of one item of a bulk request, "index" is the position of the item in the request
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemResultDTO {
+    private int index;
+    private Long id;
+    private HttpStatus status;
+    private List<String> errors;
+}
@@ -0,0 +1,22 @@
+package com.springvoyage.mvc_restful_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeCursorPageDTO {
+
+    private List<EmployeeDTO> content;
+
+//    Pass this value as "after" to fetch the next page. It is null when there are no more employees.
+    private Long nextCursor;
+
+    private boolean hasNext;
+}
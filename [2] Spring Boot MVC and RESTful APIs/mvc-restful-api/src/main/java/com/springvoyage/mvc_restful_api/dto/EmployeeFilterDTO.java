@@ -0,0 +1,16 @@
+package com.springvoyage.mvc_restful_api.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Bound from the query string of /empService/query, every filter is optional (null -> not applied)
+@Data
+@NoArgsConstructor
+public class EmployeeFilterDTO {
+    private String role;
+    private Boolean isActive;
+    private Integer minAge;
+    private Integer maxAge;
+    private Double minSalary;
+    private Double maxSalary;
+}
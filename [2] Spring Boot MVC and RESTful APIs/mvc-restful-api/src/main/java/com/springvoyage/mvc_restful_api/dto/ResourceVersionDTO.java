@@ -0,0 +1,41 @@
+package com.springvoyage.mvc_restful_api.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+/*
+Version of an employee or of the employee list: how many rows there are and the latest lastModifiedDate among them.
+Read with one aggregate query (no rows loaded, no mapping) to answer conditional GETs with 304 Not Modified,
+or computed from the DTOs of a response so that the ETag sent always matches that body.
+*/
+public record ResourceVersionDTO(Long count, LocalDateTime lastModified) {
+
+    public static <T> ResourceVersionDTO of(Collection<T> items, Function<T, LocalDateTime> lastModifiedOf) {
+        LocalDateTime lastModified = items.stream()
+                .map(lastModifiedOf)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        return new ResourceVersionDTO((long) items.size(), lastModified);
+    }
+
+    public boolean exists() {
+        return count > 0;
+    }
+
+//    Weak: the version of the data, not a hash of the exact bytes sent. Microseconds, like the timestamp(6) column
+    public String eTag() {
+        long micros = lastModified == null ? 0
+                : lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModified.getNano() / 1_000;
+        return "W/\"" + count + "-" + Long.toHexString(micros) + "\"";
+    }
+
+//    -1 = unknown, no Last-Modified header
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -6,17 +6,36 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
+@DynamicUpdate //UPDATE statements only contain the changed columns
+//Indexes for the filters of /empService/query (role + isActive are almost always filtered together)
+@Table(indexes = {
+        @Index(name = "idx_employee_role_active", columnList = "role, isActive"),
+        @Index(name = "idx_employee_age", columnList = "age"),
+        @Index(name = "idx_employee_salary", columnList = "salary")
+})
+@Cacheable
+//Second-level cache region "employees" (ehcache.xml). READ_WRITE soft-locks the entry while a transaction updates the
+//employee, bulk deletes (deleteAllByIdInBatch) clear the whole region
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
 public class EmployeeEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+//    Pooled sequence: ids are handed out 50 at a time from memory, so inserts can be grouped into JDBC batches
+//    (IDENTITY would force one INSERT per row to read the generated key back)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_entity_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String email;
@@ -26,5 +45,8 @@ public class EmployeeEntity {
     private Boolean isActive;
     private String role;
     private Double salary;
+//    Set by Hibernate on every insert / update, the ETag / Last-Modified of the employee
+    @UpdateTimestamp
+    private LocalDateTime lastModifiedDate;
 }
 
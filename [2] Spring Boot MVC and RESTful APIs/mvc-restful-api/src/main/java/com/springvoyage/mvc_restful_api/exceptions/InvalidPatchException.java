@@ -0,0 +1,14 @@
+package com.springvoyage.mvc_restful_api.exceptions;
+
+public class InvalidPatchException extends RuntimeException{
+    private final String field;
+
+    public InvalidPatchException(String field, String message) {
+        super(message);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
@@ -0,0 +1,14 @@
+package com.springvoyage.mvc_restful_api.exceptions;
+
+public class InvalidQueryException extends RuntimeException{
+    private final String field;
+
+    public InvalidQueryException(String field, String message) {
+        super(message);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
@@ -0,0 +1,7 @@
+package com.springvoyage.mvc_restful_api.exceptions;
+
+public class ServiceBusyException extends RuntimeException{
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.springvoyage.mvc_restful_api.mappers;
+
+import org.mapstruct.Mapper;
+
+//MapStruct generates EmployeeMapStructMapperImpl while compiling, so no reflection is used at runtime
+@Mapper
+public interface EmployeeMapStructMapper extends EmployeeMapper {
+}
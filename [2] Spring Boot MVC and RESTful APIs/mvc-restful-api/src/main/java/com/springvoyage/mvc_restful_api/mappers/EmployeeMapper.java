@@ -0,0 +1,17 @@
+package com.springvoyage.mvc_restful_api.mappers;
+
+import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import com.springvoyage.mvc_restful_api.entities.EmployeeEntity;
+
+/*
+Converts between EmployeeEntity and EmployeeDTO.
+The implementation is picked in MapperConfig using the "mapping.strategy" property:
+    generated   -> EmployeeMapStructMapper (plain getter/setter code generated at compile time)
+    modelmapper -> ModelMapperEmployeeMapper (reflective ModelMapper)
+*/
+public interface EmployeeMapper {
+
+    EmployeeDTO toDTO(EmployeeEntity employeeEntity);
+
+    EmployeeEntity toEntity(EmployeeDTO employeeDTO);
+}
@@ -0,0 +1,21 @@
+package com.springvoyage.mvc_restful_api.mappers;
+
+import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import com.springvoyage.mvc_restful_api.entities.EmployeeEntity;
+import lombok.RequiredArgsConstructor;
+import org.modelmapper.ModelMapper;
+
+@RequiredArgsConstructor
+public class ModelMapperEmployeeMapper implements EmployeeMapper {
+    private final ModelMapper modelMapper;
+
+    @Override
+    public EmployeeDTO toDTO(EmployeeEntity employeeEntity) {
+        return modelMapper.map(employeeEntity, EmployeeDTO.class);
+    }
+
+    @Override
+    public EmployeeEntity toEntity(EmployeeDTO employeeDTO) {
+        return modelMapper.map(employeeDTO, EmployeeEntity.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.springvoyage.mvc_restful_api.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+Times every public call into the service, repository and mapper layers as "app.method" with the tags
+layer (service | repository | mapper), class and method.
+For a request: http.server.requests = app.method{layer=service} + web / serialization, and
+app.method{layer=service} = its repository (query) time + mapper time + the service's own work.
+Percentile histograms for it are switched on in application.properties.
+
+Here: EmployeeService, EmployeeBulkService and EmployeePatcher, EmployeeRepository and the EmployeeMapper in use, so
+the cost of the mapping strategy (mapping.strategy) shows up next to the queries. prod-ready has a copy with its own
+package names in the pointcuts: the modules are separate builds with nothing shared, change both copies together.
+*/
+@Aspect
+@Component
+public class LayerTimingAspect {
+
+    public static final String METRIC_NAME = "app.method";
+
+    private final MeterRegistry meterRegistry;
+    // bean class -> method -> timer, tags are only built the first time a method is called
+    private final Map<Class<?>, Map<Method, Timer>> timers = new ConcurrentHashMap<>();
+
+    public LayerTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.springvoyage.mvc_restful_api.services..*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("service", joinPoint);
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("repository", joinPoint);
+    }
+
+    @Around("execution(public * com.springvoyage.mvc_restful_api.mappers..*(..))")
+    public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("mapper", joinPoint);
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private Object time(String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer timer = timers
+                .computeIfAbsent(joinPoint.getThis().getClass(), beanClass -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, m -> Timer.builder(METRIC_NAME)
+                        .tag("layer", layer)
+                        .tag("class", beanName(layer, joinPoint))
+                        .tag("method", m.getName())
+                        .register(meterRegistry));
+
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+//    Repositories are JDK proxies around SimpleJpaRepository, name them after their interface (EmployeeRepository)
+    private String beanName(String layer, ProceedingJoinPoint joinPoint) {
+        if (layer.equals("repository")) {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+            if (interfaces.length > 0) return interfaces[0].getSimpleName();
+        }
+        return ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName();
+    }
+}
@@ -0,0 +1,16 @@
+package com.springvoyage.mvc_restful_api.repositories;
+
+import com.springvoyage.mvc_restful_api.entities.EmployeeEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+// Custom fragment of EmployeeRepository, Spring Data picks up the implementation by the "Impl" suffix
+public interface EmployeeProjectionRepository {
+
+//    SELECT <only the given fields> FROM employee_entity WHERE <spec> ORDER BY <sort> LIMIT <limit>
+//    Each row is returned as field name -> value, in the order the fields were requested
+    List<Map<String, Object>> findProjected(Specification<EmployeeEntity> spec, Sort sort, List<String> fields, int limit);
+}
@@ -0,0 +1,65 @@
+package com.springvoyage.mvc_restful_api.repositories;
+
+import com.springvoyage.mvc_restful_api.entities.EmployeeEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+Criteria tuple query -> only the requested columns are read from the table (no entity is built or put in the
+persistence context), which keeps both the DB I/O and the JSON payload down to what the client asked for.
+*/
+@RequiredArgsConstructor
+public class EmployeeProjectionRepositoryImpl implements EmployeeProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findProjected(Specification<EmployeeEntity> spec, Sort sort, List<String> fields, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<EmployeeEntity> root = query.from(EmployeeEntity.class);
+
+        List<Selection<?>> selections = fields.stream()
+                .<Selection<?>>map(field -> root.get(field).alias(field))
+                .toList();
+        query.multiselect(selections);
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(tuple -> toRow(tuple, fields))
+                .toList();
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private Map<String, Object> toRow(Tuple tuple, List<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+        for (int i = 0; i < fields.size(); i++) {
+            row.put(fields.get(i), tuple.get(i));
+        }
+        return row;
+    }
+}
@@ -1,10 +1,62 @@
 package com.springvoyage.mvc_restful_api.repositories;
 
+import com.springvoyage.mvc_restful_api.dto.ResourceVersionDTO;
 import com.springvoyage.mvc_restful_api.entities.EmployeeEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface EmployeeRepository extends JpaRepository<EmployeeEntity, Long> {
+public interface EmployeeRepository extends JpaRepository<EmployeeEntity, Long>, EmployeeProjectionRepository {
+
+//    Query cache: the ids of the result are kept in "default-query-results-region" and the rows come from the
+//    "employees" region. Any write to the table (through Hibernate) invalidates the cached result.
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<EmployeeEntity> findAll();
+
+//    Keyset (cursor) pagination: WHERE id > :afterId ORDER BY id LIMIT :limit
+//    Uses the primary key index, so the cost does not grow with the page number like OFFSET does
+//    Cached per (afterId, limit) like findAll()
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<EmployeeEntity> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+//    Rows are pulled from the JDBC cursor in chunks of the fetch size instead of loading the whole table.
+//    The returned stream must be consumed inside a transaction and closed afterwards.
+//    CacheMode GET: the second-level cache is read but a full export does not push every row into it
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET")
+    })
+    Stream<EmployeeEntity> streamAllByOrderByIdAsc();
+
+//    Only reads the ids, used to check which rows exist before a bulk delete
+    @Query("select e.id from EmployeeEntity e where e.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+//    Warm start (EmployeeWarmStart): every id in order to find the employees deleted since the snapshot was written,
+//    and the employees changed since its watermark
+    @Query("select e.id from EmployeeEntity e order by e.id")
+    List<Long> findAllIdsOrderById();
+
+    List<EmployeeEntity> findByLastModifiedDateGreaterThanEqualOrderByIdAsc(LocalDateTime since);
+
+//    Version-only queries for conditional GETs: one aggregate row, also served from the query cache until employees change
+    @Query("select new com.springvoyage.mvc_restful_api.dto.ResourceVersionDTO(count(e), max(e.lastModifiedDate)) from EmployeeEntity e where e.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ResourceVersionDTO findVersionById(Long id);
 
+    @Query("select new com.springvoyage.mvc_restful_api.dto.ResourceVersionDTO(count(e), max(e.lastModifiedDate)) from EmployeeEntity e")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ResourceVersionDTO findVersion();
 }
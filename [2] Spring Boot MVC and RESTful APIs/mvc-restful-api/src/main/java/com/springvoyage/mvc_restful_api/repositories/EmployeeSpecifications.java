@@ -0,0 +1,53 @@
+package com.springvoyage.mvc_restful_api.repositories;
+
+import com.springvoyage.mvc_restful_api.dto.EmployeeFilterDTO;
+import com.springvoyage.mvc_restful_api.entities.EmployeeEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+/*
+Turns the optional filters into one WHERE clause.
+A null Specification is simply skipped by and(), so only the filters that were actually passed end up in the SQL.
+*/
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {}
+
+    public static Specification<EmployeeEntity> matching(EmployeeFilterDTO filter) {
+        return Specification.where(hasRole(filter.getRole()))
+                .and(isActive(filter.getIsActive()))
+                .and(ageBetween(filter.getMinAge(), filter.getMaxAge()))
+                .and(salaryBetween(filter.getMinSalary(), filter.getMaxSalary()));
+    }
+
+    public static Specification<EmployeeEntity> hasRole(String role) {
+        if (role == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("role"), role);
+    }
+
+    public static Specification<EmployeeEntity> isActive(Boolean isActive) {
+        if (isActive == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("isActive"), isActive);
+    }
+
+    public static Specification<EmployeeEntity> ageBetween(Integer min, Integer max) {
+        return between("age", min, max);
+    }
+
+    public static Specification<EmployeeEntity> salaryBetween(Double min, Double max) {
+        return between("salary", min, max);
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private static <T extends Comparable<? super T>> Specification<EmployeeEntity> between(String attribute, T min, T max) {
+        if (min == null && max == null) return null;
+        return (root, query, cb) -> {
+            if (min == null) return cb.lessThanOrEqualTo(root.get(attribute), max);
+            if (max == null) return cb.greaterThanOrEqualTo(root.get(attribute), min);
+            return cb.between(root.get(attribute), min, max);
+        };
+    }
+}
@@ -0,0 +1,172 @@
+package com.springvoyage.mvc_restful_api.services;
+
+import com.springvoyage.mvc_restful_api.conifgs.CacheConfig;
+import com.springvoyage.mvc_restful_api.dto.BulkItemResultDTO;
+import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import com.springvoyage.mvc_restful_api.entities.EmployeeEntity;
+import com.springvoyage.mvc_restful_api.mappers.EmployeeMapper;
+import com.springvoyage.mvc_restful_api.repositories.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+Bulk create / update / delete for employees.
+The input is consumed as an Iterator so a JSON array and an NDJSON stream are handled the same way.
+Items are processed in chunks of "employees.bulk.batch-size" (the same value is used as hibernate.jdbc.batch_size):
+every chunk is flushed as JDBC batches and the persistence context is cleared, so memory does not grow with the input.
+Invalid items are reported in the result and skipped, the rest of the request goes on.
+Bulk updates and deletes clear the employees cache once the transaction commits instead of evicting item by item.
+*/
+@Service
+public class EmployeeBulkService {
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeMapper employeeMapper;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final int batchSize;
+
+    public EmployeeBulkService(EmployeeRepository employeeRepository, EmployeeMapper employeeMapper,
+                               EntityManager entityManager, Validator validator,
+                               @Value("${employees.bulk.batch-size:50}") int batchSize) {
+        this.employeeRepository = employeeRepository;
+        this.employeeMapper = employeeMapper;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public List<BulkItemResultDTO> createEmployees(Iterator<EmployeeDTO> employeeDTOs) {
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        int index = 0;
+        int pending = 0;
+        while (employeeDTOs.hasNext()) {
+            EmployeeDTO employeeDTO = employeeDTOs.next();
+            List<String> errors = validate(employeeDTO);
+            if (!errors.isEmpty()) {
+                results.add(failure(index++, employeeDTO.getId(), HttpStatus.BAD_REQUEST, errors));
+                continue;
+            }
+            EmployeeEntity toSaveEntity = employeeMapper.toEntity(employeeDTO);
+            toSaveEntity.setId(null);
+            // The id comes from the pooled sequence right away, the INSERT itself waits for the next flush
+            entityManager.persist(toSaveEntity);
+            results.add(success(index++, toSaveEntity.getId(), HttpStatus.CREATED));
+
+            if (++pending == batchSize) {
+                flushAndClear();
+                pending = 0;
+            }
+        }
+        flushAndClear();
+        return results;
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    public List<BulkItemResultDTO> updateEmployees(Iterator<EmployeeDTO> employeeDTOs) {
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        int index = 0;
+        while (employeeDTOs.hasNext()) {
+            List<EmployeeDTO> chunk = nextChunk(employeeDTOs);
+            // One SELECT ... WHERE id IN (...) per chunk loads every employee of the chunk
+            Set<Long> ids = chunk.stream()
+                    .map(EmployeeDTO::getId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Map<Long, EmployeeEntity> existingEntities = employeeRepository.findAllById(ids)
+                    .stream()
+                    .collect(Collectors.toMap(EmployeeEntity::getId, Function.identity()));
+
+            for (EmployeeDTO employeeDTO : chunk) {
+                List<String> errors = validate(employeeDTO);
+                if (employeeDTO.getId() == null) {
+                    results.add(failure(index++, null, HttpStatus.BAD_REQUEST, List.of("Id of the employee is required")));
+                } else if (!existingEntities.containsKey(employeeDTO.getId())) {
+                    results.add(failure(index++, employeeDTO.getId(), HttpStatus.NOT_FOUND,
+                            List.of(STR."Employee not found with ID: \{employeeDTO.getId()}")));
+                } else if (!errors.isEmpty()) {
+                    results.add(failure(index++, employeeDTO.getId(), HttpStatus.BAD_REQUEST, errors));
+                } else {
+                    // The employee is already in the persistence context, merge copies the new state without a SELECT
+                    entityManager.merge(employeeMapper.toEntity(employeeDTO));
+                    results.add(success(index++, employeeDTO.getId(), HttpStatus.OK));
+                }
+            }
+            flushAndClear();
+        }
+        return results;
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    public List<BulkItemResultDTO> deleteEmployees(Iterator<Long> ids) {
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        int index = 0;
+        while (ids.hasNext()) {
+            List<Long> chunk = nextChunk(ids);
+            Set<Long> existingIds = new HashSet<>(employeeRepository.findExistingIds(chunk));
+            // A single DELETE ... WHERE id IN (...) per chunk
+            employeeRepository.deleteAllByIdInBatch(existingIds);
+
+            for (Long id : chunk) {
+                results.add(existingIds.contains(id)
+                        ? success(index++, id, HttpStatus.OK)
+                        : failure(index++, id, HttpStatus.NOT_FOUND, List.of(STR."Employee not found with ID: \{id}")));
+            }
+        }
+        return results;
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private <T> List<T> nextChunk(Iterator<T> iterator) {
+        List<T> chunk = new ArrayList<>(batchSize);
+        while (iterator.hasNext() && chunk.size() < batchSize) {
+            chunk.add(iterator.next());
+        }
+        return chunk;
+    }
+
+    private List<String> validate(EmployeeDTO employeeDTO) {
+        return validator.validate(employeeDTO)
+                .stream()
+                .map(ConstraintViolation::getMessage)
+                .toList();
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private BulkItemResultDTO success(int index, Long id, HttpStatus status) {
+        return BulkItemResultDTO.builder()
+                .index(index)
+                .id(id)
+                .status(status)
+                .build();
+    }
+
+    private BulkItemResultDTO failure(int index, Long id, HttpStatus status, List<String> errors) {
+        return BulkItemResultDTO.builder()
+                .index(index)
+                .id(id)
+                .status(status)
+                .errors(errors)
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.springvoyage.mvc_restful_api.services;
+
+import com.springvoyage.mvc_restful_api.entities.EmployeeEntity;
+import com.springvoyage.mvc_restful_api.exceptions.InvalidPatchException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.stereotype.Component;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/*
+Applies PATCH maps to an EmployeeEntity.
+The lookup of every property happens once, when this bean is created: each property gets a getter and a setter
+MethodHandle plus a converter for the JSON value (e.g. Integer -> Double for salary, "2024-07-07" -> LocalDate).
+Applying a patch is then a map lookup and two handle calls per field, without findField/setAccessible per request.
+*/
+@Component
+public class EmployeePatcher {
+
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    private record PropertyAccessor(MethodHandle getter, MethodHandle setter, Function<Object, Object> converter) {
+    }
+
+    private final Map<String, PropertyAccessor> accessors;
+
+    public EmployeePatcher() {
+        Map<String, PropertyAccessor> accessorMap = new HashMap<>();
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+        for (PropertyDescriptor propertyDescriptor : BeanUtils.getPropertyDescriptors(EmployeeEntity.class)) {
+            // The id identifies the row and is never patched, lastModifiedDate is maintained by Hibernate
+            if (propertyDescriptor.getName().equals("id")
+                    || propertyDescriptor.getName().equals("lastModifiedDate")
+                    || propertyDescriptor.getReadMethod() == null
+                    || propertyDescriptor.getWriteMethod() == null) continue;
+            try {
+                MethodHandle getter = lookup.unreflect(propertyDescriptor.getReadMethod())
+                        .asType(MethodType.methodType(Object.class, EmployeeEntity.class));
+                MethodHandle setter = lookup.unreflect(propertyDescriptor.getWriteMethod())
+                        .asType(MethodType.methodType(void.class, EmployeeEntity.class, Object.class));
+                accessorMap.put(propertyDescriptor.getName(),
+                        new PropertyAccessor(getter, setter, converterFor(propertyDescriptor.getPropertyType())));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(STR."Cannot access employee property: \{propertyDescriptor.getName()}", e);
+            }
+        }
+        this.accessors = Map.copyOf(accessorMap);
+    }
+
+    /*
+    Returns true if at least one field got a different value.
+    Fields whose value does not change are not touched, so Hibernate does not see them as dirty.
+    An unknown field or a value that cannot be converted to the field's type is an InvalidPatchException (400).
+    */
+    public boolean apply(EmployeeEntity employeeEntity, Map<String, Object> updates) {
+        boolean changed = false;
+        for (Map.Entry<String, Object> update : updates.entrySet()) {
+            PropertyAccessor accessor = accessors.get(update.getKey());
+            if (accessor == null) {
+                throw new InvalidPatchException(update.getKey(), STR."Employee field cannot be patched: \{update.getKey()}");
+            }
+            Object value = convert(update.getKey(), accessor, update.getValue());
+            try {
+                Object currentValue = (Object) accessor.getter().invokeExact(employeeEntity);
+                if (!Objects.equals(currentValue, value)) {
+                    accessor.setter().invokeExact(employeeEntity, value);
+                    changed = true;
+                }
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(STR."Cannot patch employee field: \{update.getKey()}", e);
+            }
+        }
+        return changed;
+    }
+
+    private static Object convert(String field, PropertyAccessor accessor, Object value) {
+        if (value == null) return null;
+        try {
+            return accessor.converter().apply(value);
+        } catch (RuntimeException e) {
+            throw new InvalidPatchException(field, STR."Invalid value for employee field \{field}: \{value}");
+        }
+    }
+
+    private static Function<Object, Object> converterFor(Class<?> propertyType) {
+        if (propertyType == LocalDate.class) {
+            return value -> value instanceof LocalDate ? value : LocalDate.parse(value.toString());
+        }
+        return value -> propertyType.isInstance(value) ? value : CONVERSION_SERVICE.convert(value, propertyType);
+    }
+}
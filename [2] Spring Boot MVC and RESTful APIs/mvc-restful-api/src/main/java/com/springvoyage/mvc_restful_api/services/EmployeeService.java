@@ -1,28 +1,55 @@
 package com.springvoyage.mvc_restful_api.services;
 
+import com.springvoyage.mvc_restful_api.conifgs.CacheConfig;
+import com.springvoyage.mvc_restful_api.dto.EmployeeCursorPageDTO;
 import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import com.springvoyage.mvc_restful_api.dto.EmployeeFilterDTO;
+import com.springvoyage.mvc_restful_api.dto.ResourceVersionDTO;
 import com.springvoyage.mvc_restful_api.entities.EmployeeEntity;
+import com.springvoyage.mvc_restful_api.exceptions.InvalidQueryException;
 import com.springvoyage.mvc_restful_api.exceptions.ResourceNotFoundException;
+import com.springvoyage.mvc_restful_api.mappers.EmployeeMapper;
 import com.springvoyage.mvc_restful_api.repositories.EmployeeRepository;
+import com.springvoyage.mvc_restful_api.repositories.EmployeeSpecifications;
+import com.springvoyage.mvc_restful_api.singleflight.SingleFlight;
+import jakarta.persistence.EntityManager;
 import org.aspectj.util.Reflection;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.util.ReflectionUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.lang.reflect.Field;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeService {
+    private static final int MAX_PAGE_SIZE = 500;
+//    Fields a client may select / sort on in queryEmployees (the EmployeeDTO properties, in response order)
+    private static final List<String> QUERYABLE_FIELDS =
+            List.of("id", "name", "email", "age", "dateOfJoining", "isActive", "role", "salary");
+
     private final EmployeeRepository employeeRepository;
-    private final ModelMapper modelMapper;
+    private final EmployeeMapper employeeMapper;
+    private final EntityManager entityManager;
+    private final EmployeePatcher employeePatcher;
+    private final SingleFlight<Long, Optional<EmployeeDTO>> employeeLoads;
 
-    public EmployeeService(EmployeeRepository employeeRepository, ModelMapper modelMapper) {
+    public EmployeeService(EmployeeRepository employeeRepository, EmployeeMapper employeeMapper, EntityManager entityManager,
+                           EmployeePatcher employeePatcher, SingleFlight<Long, Optional<EmployeeDTO>> employeeLoads) {
         this.employeeRepository = employeeRepository;
-        this.modelMapper = modelMapper;
+        this.employeeMapper = employeeMapper;
+        this.entityManager = entityManager;
+        this.employeePatcher = employeePatcher;
+        this.employeeLoads = employeeLoads;
     }
     public void isExistsByEmployeeId(Long id) throws ResourceNotFoundException {
         if(!employeeRepository.existsById(id)){
@@ -31,56 +58,136 @@ public class EmployeeService {
     }
 
 
+//    Missing employees are not cached (#result is the content of the Optional).
+//    Concurrent misses for the same id share one load (SingleFlightConfig)
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id", unless = "#result == null")
     public Optional<EmployeeDTO> getEmployeeById(Long id) {
-        Optional<EmployeeEntity> employeeEntity = employeeRepository.findById(id);
-        return employeeEntity.map(employeeEntity1 -> modelMapper.map(employeeEntity1, EmployeeDTO.class));
+        return employeeLoads.load(id, () -> employeeRepository.findById(id).map(employeeMapper::toDTO));
+    }
+
+    public ResourceVersionDTO getEmployeeVersion(Long id) {
+        ResourceVersionDTO version = employeeRepository.findVersionById(id);
+        if (!version.exists()) throw new ResourceNotFoundException(STR."Employee not found with ID: \{id}");
+        return version;
+    }
 
+    public ResourceVersionDTO getEmployeesVersion() {
+        return employeeRepository.findVersion();
     }
 
     public List<EmployeeDTO> getAllEmployees() {
         List<EmployeeEntity> employeeEntities = employeeRepository.findAll();
         return employeeEntities.stream()
-                .map(EmployeeEntity -> modelMapper.map(EmployeeEntity, EmployeeDTO.class))
+                .map(employeeMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+//    Filtering, sorting and field selection happen in one SQL query instead of on the client.
+//    A field or sort outside QUERYABLE_FIELDS is an InvalidQueryException (400) before any SQL is built
+    public List<Map<String, Object>> queryEmployees(EmployeeFilterDTO filter, Sort sort, List<String> fields, int size) {
+        List<String> selectedFields = (fields == null || fields.isEmpty()) ? QUERYABLE_FIELDS : fields.stream().distinct().toList();
+        selectedFields.forEach(this::checkQueryable);
+        sort.forEach(order -> checkQueryable(order.getProperty()));
+
+        return employeeRepository.findProjected(
+                EmployeeSpecifications.matching(filter),
+                sort.isSorted() ? sort : Sort.by("id"),
+                selectedFields,
+                Math.clamp(size, 1, MAX_PAGE_SIZE));
+    }
+
+    public EmployeeCursorPageDTO getEmployeesAfter(Long afterId, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // Fetch one extra row to know whether another page exists without running a COUNT query
+        List<EmployeeEntity> employeeEntities = employeeRepository
+                .findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+
+        boolean hasNext = employeeEntities.size() > pageSize;
+        List<EmployeeDTO> content = employeeEntities.stream()
+                .limit(pageSize)
+                .map(employeeMapper::toDTO)
+                .toList();
+
+        return EmployeeCursorPageDTO.builder()
+                .content(content)
+                .nextCursor(hasNext ? content.getLast().getId() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+/*  Hands every employee to the consumer as soon as it comes off the JDBC cursor.
+    Each entity is detached after it is mapped so the persistence context does not grow with the table,
+    which keeps the memory used by one request constant.*/
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<EmployeeDTO> consumer) {
+        try (Stream<EmployeeEntity> employeeEntities = employeeRepository.streamAllByOrderByIdAsc()) {
+            employeeEntities.forEach(employeeEntity -> {
+                consumer.accept(employeeMapper.toDTO(employeeEntity));
+                entityManager.detach(employeeEntity);
+            });
+        }
+    }
+
+    public List<EmployeeDTO> getEmployeesModifiedSince(LocalDateTime since) {
+        return employeeRepository.findByLastModifiedDateGreaterThanEqualOrderByIdAsc(since).stream()
+                .map(employeeMapper::toDTO)
+                .toList();
+    }
+
+    public List<Long> getAllEmployeeIds() {
+        return employeeRepository.findAllIdsOrderById();
+    }
+
     public EmployeeDTO save(EmployeeDTO inputemployeeDTO) {
-        EmployeeEntity toSaveEntity = modelMapper.map(inputemployeeDTO, EmployeeEntity.class);
+        EmployeeEntity toSaveEntity = employeeMapper.toEntity(inputemployeeDTO);
         EmployeeEntity savedEntity = employeeRepository.save(toSaveEntity);
-        return modelMapper.map(savedEntity, EmployeeDTO.class);
+        return employeeMapper.toDTO(savedEntity);
     }
 
+//    404 for an unknown id: save() would merge it as a new row with a generated id. Should the employee be deleted
+//    between the check and the save anyway, the result (another id) is not cached under the requested one.
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id", unless = "!#id.equals(#result.id)")
     public EmployeeDTO updateEmployeeById(Long id, EmployeeDTO employeeDTO) {
-        EmployeeEntity toUpdateEntity = modelMapper.map(employeeDTO, EmployeeEntity.class);
+        isExistsByEmployeeId(id);
+        EmployeeEntity toUpdateEntity = employeeMapper.toEntity(employeeDTO);
         toUpdateEntity.setId(id);
         EmployeeEntity updatedEntity = employeeRepository.save(toUpdateEntity);
-        return modelMapper.map(updatedEntity, EmployeeDTO.class);
+        return employeeMapper.toDTO(updatedEntity);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
     public boolean deleteEmployeeById(Long id) {
         isExistsByEmployeeId(id);
         employeeRepository.deleteById(id);
         return true;
     }
 
+    /*
+    Loads the employee once (a missing employee is reported by findById itself, no separate existsById query)
+    and applies the patch through the precompiled EmployeePatcher.
+    The entity stays managed, so the changes are flushed on commit; with @DynamicUpdate on EmployeeEntity
+    the UPDATE statement only contains the columns that actually changed, and nothing is written if none did.
+    A real change is flushed before mapping, so the returned (and cached) DTO has the new lastModifiedDate.
+    */
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
     public EmployeeDTO patchEmployeeById(Map<String, Object> updates, Long id) {
-        // Check if the employee exists
-        isExistsByEmployeeId(id);
-        // Fetch the employee entity from the repository
-        EmployeeEntity employeeEntity = employeeRepository.findById(id).get();
-
-        // Iterate over the updates map and update the corresponding fields in the employee entity
-/*      ReflectionUtils.findRequiredField: Finds a field in the EmployeeEntity class by its name.
-        setAccessible(true): Makes the field accessible for modification, even if it is private.
-        ReflectionUtils.setField: Sets the value of the specified field in the given object to the provided value.*/
-        updates.forEach((field, value) -> {
-            Field fieldToBeUpdated = ReflectionUtils.findRequiredField(EmployeeEntity.class, field);
-            fieldToBeUpdated.setAccessible(true);
-            ReflectionUtils.setField(fieldToBeUpdated, employeeEntity, value);
-        });
-
-        // Save the updated employee entity and convert it to an EmployeeDTO
-        return modelMapper.map(employeeRepository.save(employeeEntity), EmployeeDTO.class);
+        EmployeeEntity employeeEntity = employeeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(STR."Employee not found with ID: \{id}"));
+        if (employeePatcher.apply(employeeEntity, updates)) {
+            employeeRepository.flush();
+        }
+        return employeeMapper.toDTO(employeeEntity);
     }
 
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private void checkQueryable(String field) {
+        if (!QUERYABLE_FIELDS.contains(field)) {
+            throw new InvalidQueryException(field, STR."Unknown employee field: \{field}");
+        }
+    }
 }
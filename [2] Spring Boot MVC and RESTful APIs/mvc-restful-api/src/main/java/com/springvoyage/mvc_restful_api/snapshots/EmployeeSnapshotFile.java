@@ -0,0 +1,226 @@
+package com.springvoyage.mvc_restful_api.snapshots;
+
+import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/*
+Binary dump of the employees for warm restarts, written and read through memory-mapped buffers.
+Layout (little endian): 48 byte header, then one fixed-order record per employee (in id order):
+    id, lastModifiedDate (UTC seconds + nanos), name, email, role (UTF-8, length -1 -> null),
+    age (MIN_VALUE -> null), dateOfJoining (epoch day, MIN_VALUE -> null), isActive (-1 -> null), salary (NaN -> null)
+Header: magic, format version, watermark (lastModifiedDate up to which the dump is complete), employee count,
+payload length and the CRC32 of the payload.
+The writer maps the file window by window as it grows, so a dump never holds the whole table in memory. The file can
+end with unused bytes of the last window, the header's payload length says where the records end.
+A missing, truncated, foreign or corrupt file is not an error: read() returns empty and nothing is warmed.
+*/
+@Slf4j
+public class EmployeeSnapshotFile {
+
+    public record Header(LocalDateTime watermark, int employees) {}
+
+    private static final int MAGIC = 0x454D5046; // "EMPF"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 48;
+    private static final int WINDOW_BYTES = 1 << 22;
+
+    private final Path path;
+
+    public EmployeeSnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+//    Records go to a temp file that only replaces the current one in finish()
+    public Writer openWriter() throws IOException {
+        return new Writer(path.resolveSibling(path.getFileName() + ".tmp"));
+    }
+
+//    Verifies the whole file first, then hands the employees to the consumer in id order
+    public Optional<Header> read(Consumer<EmployeeDTO> consumer) throws IOException {
+        if (!Files.isRegularFile(path)) return Optional.empty();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileBytes = channel.size();
+            if (fileBytes < HEADER_BYTES || fileBytes > Integer.MAX_VALUE) return invalid("unexpected size " + fileBytes);
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileBytes).order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC) return invalid("not an employee snapshot");
+            int formatVersion = buffer.getInt();
+            if (formatVersion != FORMAT_VERSION) return invalid(STR."format version \{formatVersion}");
+            LocalDateTime watermark = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            int employees = buffer.getInt();
+            long payloadBytes = buffer.getLong();
+            long expectedCrc = buffer.getLong();
+            if (payloadBytes > fileBytes - HEADER_BYTES) return invalid("truncated");
+
+            ByteBuffer payload = buffer.slice(HEADER_BYTES, (int) payloadBytes).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            if (crc.getValue() != expectedCrc) return invalid("checksum mismatch");
+
+            for (int i = 0; i < employees; i++) consumer.accept(readEmployee(payload));
+            return Optional.of(new Header(watermark, employees));
+        }
+    }
+
+    public final class Writer implements Closeable {
+        private final Path temp;
+        private final FileChannel channel;
+        private final CRC32 crc = new CRC32();
+        private MappedByteBuffer window;
+        private long windowStart = HEADER_BYTES;
+        private int employees;
+        private boolean finished;
+
+        private Writer(Path temp) throws IOException {
+            this.temp = temp;
+            this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.window = map(windowStart, WINDOW_BYTES);
+        }
+
+        public void append(EmployeeDTO employee) throws IOException {
+            byte[] name = utf8(employee.getName());
+            byte[] email = utf8(employee.getEmail());
+            byte[] role = utf8(employee.getRole());
+            int recordBytes = 8 + 12 + 3 * 4 + length(name) + length(email) + length(role) + 4 + 8 + 1 + 8;
+            if (window.remaining() < recordBytes) nextWindow(recordBytes);
+
+            window.putLong(employee.getId());
+            LocalDateTime lastModified = employee.getLastModifiedDate();
+            window.putLong(lastModified == null ? Long.MIN_VALUE : lastModified.toEpochSecond(ZoneOffset.UTC));
+            window.putInt(lastModified == null ? 0 : lastModified.getNano());
+            putString(name);
+            putString(email);
+            putString(role);
+            window.putInt(employee.getAge() == null ? Integer.MIN_VALUE : employee.getAge());
+            window.putLong(employee.getDateOfJoining() == null ? Long.MIN_VALUE : employee.getDateOfJoining().toEpochDay());
+            window.put(employee.getIsActive() == null ? (byte) -1 : (byte) (employee.getIsActive() ? 1 : 0));
+            window.putDouble(employee.getSalary() == null ? Double.NaN : employee.getSalary());
+            employees++;
+        }
+
+//        Writes the header and replaces the previous snapshot file
+        public void finish(LocalDateTime watermark) throws IOException {
+            crc.update(window.slice(0, window.position()));
+            long payloadBytes = windowStart + window.position() - HEADER_BYTES;
+            window.force();
+
+            MappedByteBuffer header = map(0, HEADER_BYTES);
+            header.putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(watermark.toEpochSecond(ZoneOffset.UTC))
+                    .putInt(watermark.getNano())
+                    .putInt(employees)
+                    .putLong(payloadBytes)
+                    .putLong(crc.getValue())
+                    .putLong(0);
+            header.force();
+            channel.close();
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            finished = true;
+        }
+
+//        Without finish() the temp file is dropped and the previous snapshot stays
+        @Override
+        public void close() throws IOException {
+            if (finished) return;
+            channel.close();
+            Files.deleteIfExists(temp);
+        }
+
+        private void nextWindow(int recordBytes) throws IOException {
+            crc.update(window.slice(0, window.position()));
+            window.force();
+            windowStart += window.position();
+            window = map(windowStart, Math.max(WINDOW_BYTES, recordBytes));
+        }
+
+        private MappedByteBuffer map(long position, int size) throws IOException {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+
+        private void putString(byte[] value) {
+            if (value == null) {
+                window.putInt(-1);
+                return;
+            }
+            window.putInt(value.length);
+            window.put(value);
+        }
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private static EmployeeDTO readEmployee(ByteBuffer payload) {
+        long id = payload.getLong();
+        long lastModifiedSeconds = payload.getLong();
+        int lastModifiedNanos = payload.getInt();
+        String name = getString(payload);
+        String email = getString(payload);
+        String role = getString(payload);
+        int age = payload.getInt();
+        long dateOfJoining = payload.getLong();
+        byte isActive = payload.get();
+        double salary = payload.getDouble();
+        return EmployeeDTO.builder()
+                .id(id)
+                .lastModifiedDate(lastModifiedSeconds == Long.MIN_VALUE ? null
+                        : LocalDateTime.ofEpochSecond(lastModifiedSeconds, lastModifiedNanos, ZoneOffset.UTC))
+                .name(name)
+                .email(email)
+                .role(role)
+                .age(age == Integer.MIN_VALUE ? null : age)
+                .dateOfJoining(dateOfJoining == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(dateOfJoining))
+                .isActive(isActive < 0 ? null : isActive == 1)
+                .salary(Double.isNaN(salary) ? null : salary)
+                .build();
+    }
+
+    private static String getString(ByteBuffer payload) {
+        int length = payload.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private Optional<Header> invalid(String reason) {
+        log.warn("Ignoring employee snapshot file {}: {}", path, reason);
+        return Optional.empty();
+    }
+}
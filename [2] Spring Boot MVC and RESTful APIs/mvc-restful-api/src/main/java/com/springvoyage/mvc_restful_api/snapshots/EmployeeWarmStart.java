@@ -0,0 +1,124 @@
+package com.springvoyage.mvc_restful_api.snapshots;
+
+import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import com.springvoyage.mvc_restful_api.dto.ResourceVersionDTO;
+import com.springvoyage.mvc_restful_api.services.EmployeeService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/*
+Warm restarts for the "employees" cache (employees.snapshot.enabled=true, see EmployeeSnapshotConfig).
+- Every dump-interval-ms and on shutdown the employee table is streamed into an EmployeeSnapshotFile, unless its
+  version (row count + latest lastModifiedDate) is still the one of the last dump.
+- At startup the file is mapped back in and its employees go straight into the cache, so the first
+  getEmployeeById calls after a restart don't all end up as findById + mapping.
+- Only the difference comes from the database: employees with lastModifiedDate >= watermark - overlap are re-read
+  (the overlap covers transactions that committed after the dump started) and ids that are gone are dropped.
+- The warm-up is a lifecycle phase below the web server's, so it is done before the first request is accepted: no
+  DELETE, PUT or cache eviction can land between the reconciliation and the puts and be undone by older data.
+Warmed entries live as long as employees.cache.spec lets them: with expireAfterWrite=60s the cache is warm for the
+first minute after a restart only, raise it where the warm start should last longer.
+*/
+@Slf4j
+public class EmployeeWarmStart implements SmartLifecycle {
+
+    private final EmployeeService employeeService;
+    private final Cache employeesCache;
+    private final EmployeeSnapshotFile snapshotFile;
+    private final Duration overlap;
+    private ResourceVersionDTO dumpedVersion; // guarded by this
+    private volatile boolean running;
+
+    public EmployeeWarmStart(EmployeeService employeeService, Cache employeesCache, EmployeeSnapshotFile snapshotFile,
+                             Duration overlap) {
+        this.employeeService = employeeService;
+        this.employeesCache = employeesCache;
+        this.snapshotFile = snapshotFile;
+        this.overlap = overlap;
+    }
+
+    @Override
+    public void start() {
+        warmUp();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+//    Lower phases start first: one below the web server (DEFAULT_PHASE - 2048) that starts accepting requests
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 2048 - 1;
+    }
+
+    void warmUp() {
+        long startedAt = System.nanoTime();
+        Map<Long, EmployeeDTO> employees = new LinkedHashMap<>();
+        Optional<EmployeeSnapshotFile.Header> header;
+        try {
+            header = snapshotFile.read(employee -> employees.put(employee.getId(), employee));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read the employee snapshot from {}, starting cold", snapshotFile.path(), e);
+            return;
+        }
+        if (header.isEmpty()) return;
+
+        Set<Long> existingIds = new HashSet<>(employeeService.getAllEmployeeIds());
+        int deleted = employees.size();
+        employees.keySet().retainAll(existingIds);
+        deleted -= employees.size();
+        List<EmployeeDTO> changed = employeeService.getEmployeesModifiedSince(header.get().watermark().minus(overlap));
+        changed.forEach(employee -> employees.put(employee.getId(), employee));
+
+        employees.forEach(employeesCache::put);
+
+        log.info("Warmed the employees cache from {}: {} employees, {} changed and {} deleted since, in {} ms",
+                snapshotFile.path(), header.get().employees(), changed.size(), deleted,
+                Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${employees.snapshot.dump-interval-ms:300000}",
+            initialDelayString = "${employees.snapshot.dump-interval-ms:300000}")
+    @PreDestroy
+    public synchronized void dump() {
+        ResourceVersionDTO version = employeeService.getEmployeesVersion();
+        if (version.equals(dumpedVersion)) return;
+        // Taken before the rows are read: anything changed while streaming is newer and gets re-read on the next start
+        LocalDateTime watermark = version.lastModified() == null ? LocalDateTime.now() : version.lastModified();
+        try (EmployeeSnapshotFile.Writer writer = snapshotFile.openWriter()) {
+            employeeService.streamAllEmployees(employee -> {
+                try {
+                    writer.append(employee);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish(watermark);
+            dumpedVersion = version;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write the employee snapshot to {}", snapshotFile.path(), e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.springvoyage.mvc_restful_api.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+Closed-loop load test for GET /employees/empService/{id}, used to compare platform and virtual threads.
+Start the application twice, once with VIRTUAL_THREADS_ENABLED=false and once with VIRTUAL_THREADS_ENABLED=true,
+and run this main method against each:
+
+    args: [baseUrl] [concurrentClients] [durationSeconds] [employeeId]
+    default: http://localhost:8080 1000 30 1
+
+It prints the throughput, the p50/p99/max latency and the number of failed (non 2xx) responses.
+*/
+public class EmployeeLoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int durationSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        long employeeId = args.length > 3 ? Long.parseLong(args[3]) : 1L;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(STR."\{baseUrl}/employees/empService/\{employeeId}"))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        // Every client records its latencies in its own array, merged at the end
+        long[][] latencies = new long[clients][];
+        AtomicLong failures = new AtomicLong();
+        AtomicInteger clientIndex = new AtomicInteger();
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                clientThreads.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() / 100 != 2) failures.incrementAndGet();
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    latencies[clientIndex.getAndIncrement()] = Arrays.copyOf(samples, count);
+                    return null;
+                });
+            }
+        }
+
+        long[] allLatencies = Arrays.stream(latencies)
+                .flatMapToLong(Arrays::stream)
+                .sorted()
+                .toArray();
+        if (allLatencies.length == 0) {
+            System.out.println("No requests were completed");
+            return;
+        }
+        System.out.printf("requests=%d failures=%d throughput=%.1f req/s%n",
+                allLatencies.length, failures.get(), allLatencies.length / (double) durationSeconds);
+        System.out.printf("p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                percentile(allLatencies, 0.50), percentile(allLatencies, 0.99), allLatencies[allLatencies.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,73 @@
+package com.springvoyage.mvc_restful_api.benchmarks;
+
+import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import com.springvoyage.mvc_restful_api.entities.EmployeeEntity;
+import com.springvoyage.mvc_restful_api.mappers.EmployeeMapStructMapper;
+import com.springvoyage.mvc_restful_api.mappers.EmployeeMapper;
+import com.springvoyage.mvc_restful_api.mappers.ModelMapperEmployeeMapper;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/*
+Per-call latency of the two mapping strategies selectable through "mapping.strategy".
+Run the main method; the GC profiler adds gc.alloc.rate.norm (bytes allocated per call) to the report.
+*/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class EmployeeMapperBenchmark {
+
+    @Param({"generated", "modelmapper"})
+    private String strategy;
+
+    private EmployeeMapper employeeMapper;
+    private EmployeeEntity employeeEntity;
+    private EmployeeDTO employeeDTO;
+
+    @Setup
+    public void setUp() {
+        employeeMapper = strategy.equals("generated")
+                ? Mappers.getMapper(EmployeeMapStructMapper.class)
+                : new ModelMapperEmployeeMapper(new ModelMapper());
+
+        employeeEntity = EmployeeEntity.builder()
+                .id(42L)
+                .name("Abhinav")
+                .email("myemail@mail.com")
+                .age(25)
+                .dateOfJoining(LocalDate.of(2024, 7, 7))
+                .isActive(true)
+                .role("ADMIN")
+                .salary(50000.50)
+                .build();
+        employeeDTO = employeeMapper.toDTO(employeeEntity);
+    }
+
+    @Benchmark
+    public EmployeeDTO entityToDTO() {
+        return employeeMapper.toDTO(employeeEntity);
+    }
+
+    @Benchmark
+    public EmployeeEntity dtoToEntity() {
+        return employeeMapper.toEntity(employeeDTO);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeMapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
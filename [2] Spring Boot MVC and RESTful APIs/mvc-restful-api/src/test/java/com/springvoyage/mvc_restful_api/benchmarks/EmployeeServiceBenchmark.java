@@ -0,0 +1,95 @@
+package com.springvoyage.mvc_restful_api.benchmarks;
+
+import com.springvoyage.mvc_restful_api.SpringBootMvcAndResTfulApIsApplication;
+import com.springvoyage.mvc_restful_api.dto.EmployeeCursorPageDTO;
+import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import com.springvoyage.mvc_restful_api.services.EmployeeBulkService;
+import com.springvoyage.mvc_restful_api.services.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/*
+EmployeeService against an embedded H2 database: list mapping, cursor paging and patching.
+Throughput plus SampleTime (p50/p90/p99/p99.9 latency); run through the jmh profile or the main method for allocation rates.
+*/
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000"})
+    private int employeeCount;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private long patchedEmployeeId;
+    private double salary = 1000.50;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SpringBootMvcAndResTfulApIsApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--logging.level.root=WARN");
+        employeeService = context.getBean(EmployeeService.class);
+
+        List<EmployeeDTO> employees = IntStream.range(0, employeeCount)
+                .mapToObj(i -> EmployeeDTO.builder()
+                        .name(STR."emp\{i}")
+                        .email(STR."emp\{i}@mail.com")
+                        .age(18 + i % 60)
+                        .role(i % 10 == 0 ? "ADMIN" : "USER")
+                        .salary(100.50 + i)
+                        .dateOfJoining(LocalDate.of(2024, 1, 1))
+                        .isActive(true)
+                        .build())
+                .toList();
+        context.getBean(EmployeeBulkService.class).createEmployees(employees.iterator());
+        patchedEmployeeId = employeeService.getEmployeesAfter(0L, 1).getContent().getFirst().getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public EmployeeCursorPageDTO getEmployeesPage() {
+        return employeeService.getEmployeesAfter(0L, 100);
+    }
+
+    @Benchmark
+    public EmployeeDTO patchEmployeeById() {
+        // A different salary every call so every patch really issues an UPDATE
+        salary = salary >= 90000 ? 1000.50 : salary + 1;
+        return employeeService.patchEmployeeById(Map.of("salary", salary), patchedEmployeeId);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
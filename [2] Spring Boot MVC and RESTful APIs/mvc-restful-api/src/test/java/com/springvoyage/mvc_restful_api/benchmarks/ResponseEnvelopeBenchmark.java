@@ -0,0 +1,70 @@
+package com.springvoyage.mvc_restful_api.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springvoyage.mvc_restful_api.advices.GlobalResponseHandler;
+import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/*
+What every successful response pays after the controller returns: GlobalResponseHandler wraps the body
+in the response envelope and Jackson serializes ApiResponse<List<EmployeeDTO>>.
+*/
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class ResponseEnvelopeBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int employeeCount;
+
+    private final GlobalResponseHandler globalResponseHandler = new GlobalResponseHandler();
+    // Same modules as the ObjectMapper Spring Boot builds (JavaTimeModule for LocalDate / LocalDateTime)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<EmployeeDTO> employees;
+
+    @Setup
+    public void setUp() {
+        employees = IntStream.range(0, employeeCount)
+                .mapToObj(i -> EmployeeDTO.builder()
+                        .id((long) i)
+                        .name(STR."emp\{i}")
+                        .email(STR."emp\{i}@mail.com")
+                        .age(30)
+                        .role("USER")
+                        .salary(1000.50)
+                        .dateOfJoining(LocalDate.of(2024, 1, 1))
+                        .isActive(true)
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] wrapAndSerialize() throws JsonProcessingException {
+        Object body = globalResponseHandler.beforeBodyWrite(employees, null, MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class, null, null);
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ResponseEnvelopeBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,332 @@
+package com.springvoyage.mvc_restful_api.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springvoyage.mvc_restful_api.entities.EmployeeEntity;
+import com.springvoyage.mvc_restful_api.repositories.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+The employee endpoints against an in-memory database of five employees.
+Cursor pages follow each other by id without gaps or repeats, and the NDJSON stream writes one bare employee per
+line (no ApiResponse envelope) in id order.
+A PATCH converts the JSON values to the employee's types; a field it cannot patch or a value it cannot convert is a
+400 naming the field in subErrors, and nothing is changed.
+The query endpoint returns only the selected fields of the matching employees; selecting or sorting on a field
+outside its whitelist is a 400 as well.
+A client sending back the ETag (or Last-Modified) it got gets a 304 without a body until the employee, or for the
+list any employee, changes.
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:employeecontroller;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class EmployeeControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        ids.clear();
+        for (int i = 1; i <= 5; i++) ids.add(save("Employee" + i, i % 2 == 0 ? "ADMIN" : "USER", 20 + i, 1000.0 * i).getId());
+    }
+
+    @Test
+    void cursorPagesFollowEachOther() throws Exception {
+        JsonNode first = data(get("/employees/empService/page").param("size", "2"));
+        assertThat(ids(first.get("content"))).containsExactlyElementsOf(ids.subList(0, 2));
+        assertThat(first.get("hasNext").asBoolean()).isTrue();
+
+        JsonNode second = data(get("/employees/empService/page").param("after", first.get("nextCursor").asText()).param("size", "2"));
+        assertThat(ids(second.get("content"))).containsExactlyElementsOf(ids.subList(2, 4));
+        assertThat(second.get("hasNext").asBoolean()).isTrue();
+
+        JsonNode last = data(get("/employees/empService/page").param("after", second.get("nextCursor").asText()).param("size", "2"));
+        assertThat(ids(last.get("content"))).containsExactly(ids.get(4));
+        assertThat(last.get("hasNext").asBoolean()).isFalse();
+        assertThat(last.get("nextCursor").isNull()).isTrue();
+    }
+
+//    Exactly one page left: the extra row fetched to detect a next page is not there, so no cursor is handed out
+    @Test
+    void pageEndingOnTheLastEmployeeHasNoNext() throws Exception {
+        JsonNode page = data(get("/employees/empService/page").param("after", String.valueOf(ids.get(2))).param("size", "2"));
+
+        assertThat(ids(page.get("content"))).containsExactlyElementsOf(ids.subList(3, 5));
+        assertThat(page.get("hasNext").asBoolean()).isFalse();
+        assertThat(page.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void pageSizeIsClampedToAtLeastOne() throws Exception {
+        JsonNode page = data(get("/employees/empService/page").param("size", "0"));
+
+        assertThat(ids(page.get("content"))).containsExactly(ids.get(0));
+        assertThat(page.get("nextCursor").asLong()).isEqualTo(ids.get(0));
+    }
+
+    @Test
+    void streamWritesOneEmployeePerLine() throws Exception {
+        MvcResult result = mockMvc.perform(get("/employees/empService/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) lines.add(objectMapper.readTree(line));
+
+        assertThat(lines).hasSize(5);
+        assertThat(lines).allSatisfy(line -> assertThat(line.has("data")).isFalse());
+        assertThat(lines.stream().map(line -> line.get("id").asLong()).toList()).containsExactlyElementsOf(ids);
+        assertThat(lines.getFirst().get("name").asText()).isEqualTo("Employee1");
+    }
+
+    @Test
+    void streamOfNoEmployeesIsEmpty() throws Exception {
+        employeeRepository.deleteAll();
+
+        MvcResult result = mockMvc.perform(get("/employees/empService/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertThat(result.getResponse().getContentAsString()).isBlank();
+    }
+
+    @Test
+    void patchConvertsValuesToTheEmployeeTypes() throws Exception {
+        mockMvc.perform(patch("/employees/empService/patch/{id}", ids.get(0))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salary\": 5000, \"age\": \"41\", \"dateOfJoining\": \"2023-01-15\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.salary").value(5000.0))
+                .andExpect(jsonPath("$.data.age").value(41))
+                .andExpect(jsonPath("$.data.dateOfJoining").value("2023-01-15"))
+                .andExpect(jsonPath("$.data.name").value("Employee1"));
+
+        EmployeeEntity patched = employeeRepository.findById(ids.get(0)).orElseThrow();
+        assertThat(patched.getSalary()).isEqualTo(5000.0);
+        assertThat(patched.getDateOfJoining()).isEqualTo(LocalDate.of(2023, 1, 15));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "{\"age\": \"forty\"}                 | age",
+            "{\"dateOfJoining\": \"07/07/2024\"}  | dateOfJoining",
+            "{\"id\": 99}                          | id",
+            "{\"name\": \"New\", \"password\": \"x\"} | password"
+    })
+    void invalidPatchIsBadRequestNamingTheField(String body, String field) throws Exception {
+        mockMvc.perform(patch("/employees/empService/patch/{id}", ids.get(0))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.httpStatus").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.error.message").isNotEmpty())
+                .andExpect(jsonPath("$.error.subErrors[0]").value(field));
+
+        EmployeeEntity unchanged = employeeRepository.findById(ids.get(0)).orElseThrow();
+        assertThat(unchanged.getName()).isEqualTo("Employee1");
+        assertThat(unchanged.getAge()).isEqualTo(21);
+    }
+
+    @Test
+    void patchOfAnUnknownEmployeeIsNotFound() throws Exception {
+        mockMvc.perform(patch("/employees/empService/patch/{id}", ids.get(4) + 1000)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 30}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error.httpStatus").value("NOT_FOUND"));
+    }
+
+    @Test
+    void queryReturnsOnlyTheSelectedFieldsOfTheMatches() throws Exception {
+        JsonNode rows = data(get("/employees/empService/query")
+                .param("role", "USER")
+                .param("minSalary", "2000")
+                .param("sort", "salary,desc")
+                .param("fields", "id,name"));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows).allSatisfy(row -> assertThat(fieldNames(row)).containsExactly("id", "name"));
+        assertThat(ids(rows)).containsExactly(ids.get(4), ids.get(2));
+        assertThat(rows.get(0).get("name").asText()).isEqualTo("Employee5");
+    }
+
+    @Test
+    void queryWithoutFieldsSelectsEveryQueryableField() throws Exception {
+        JsonNode rows = data(get("/employees/empService/query").param("isActive", "true").param("maxAge", "21"));
+
+        assertThat(rows).hasSize(1);
+        assertThat(fieldNames(rows.get(0)))
+                .containsExactly("id", "name", "email", "age", "dateOfJoining", "isActive", "role", "salary");
+    }
+
+    @Test
+    void queryIsSortedByIdAndLimitedToSize() throws Exception {
+        assertThat(ids(data(get("/employees/empService/query").param("size", "3")))).containsExactlyElementsOf(ids.subList(0, 3));
+        assertThat(ids(data(get("/employees/empService/query").param("sort", "age,desc").param("size", "2"))))
+                .containsExactly(ids.get(4), ids.get(3));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "fields, lastModifiedDate, lastModifiedDate",
+            "fields, 'id,password', password",
+            "sort, 'lastModifiedDate,desc', lastModifiedDate",
+            "sort, password, password"
+    })
+    void queryOutsideTheWhitelistIsBadRequest(String parameter, String value, String field) throws Exception {
+        mockMvc.perform(get("/employees/empService/query").param(parameter, value))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.httpStatus").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.error.subErrors[0]").value(field));
+    }
+
+    @Test
+    void unchangedEmployeeIsNotModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/employees/empService/{id}", ids.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertThat(eTag).startsWith("W/");
+
+        mockMvc.perform(get("/employees/empService/{id}", ids.get(0)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/employees/empService/{id}", ids.get(0)).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void changedEmployeeIsSentAgain() throws Exception {
+        String eTag = mockMvc.perform(get("/employees/empService/{id}", ids.get(0)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/employees/empService/patch/{id}", ids.get(0))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 50}"))
+                .andExpect(status().isOk());
+
+        MvcResult changed = mockMvc.perform(get("/employees/empService/{id}", ids.get(0)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.age").value(50))
+                .andReturn();
+        String newETag = changed.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isNotEqualTo(eTag);
+
+        mockMvc.perform(get("/employees/empService/{id}", ids.get(0)).header(HttpHeaders.IF_NONE_MATCH, newETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void unknownEmployeeIsNotFoundWhateverTheETag() throws Exception {
+        mockMvc.perform(get("/employees/empService/{id}", ids.get(4) + 1000).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+
+//    A delete makes no employee newer, the row count in the ETag still changes
+    @Test
+    void listIsNotModifiedUntilAnEmployeeIsDeleted() throws Exception {
+        MvcResult first = mockMvc.perform(get("/employees/empService"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.data.length()").value(5))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/employees/empService").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(delete("/employees/empService/delete/{id}", ids.get(2))).andExpect(status().isOk());
+
+        mockMvc.perform(get("/employees/empService").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(4));
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+//    The "data" of the ApiResponse envelope
+    private JsonNode data(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body).get("data");
+    }
+
+    private static List<Long> ids(JsonNode employees) {
+        return StreamSupport.stream(employees.spliterator(), false)
+                .map(employee -> employee.get("id").asLong())
+                .toList();
+    }
+
+    private static List<String> fieldNames(JsonNode row) {
+        List<String> names = new ArrayList<>();
+        row.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private EmployeeEntity save(String name, String role, int age, double salary) {
+        return employeeRepository.save(EmployeeEntity.builder()
+                .name(name)
+                .email(name.toLowerCase() + "@example.com")
+                .age(age)
+                .role(role)
+                .salary(salary)
+                .dateOfJoining(LocalDate.of(2024, 7, 7))
+                .isActive(true)
+                .build());
+    }
+}
@@ -0,0 +1,164 @@
+package com.springvoyage.mvc_restful_api.services;
+
+import com.springvoyage.mvc_restful_api.dto.BulkItemResultDTO;
+import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import com.springvoyage.mvc_restful_api.entities.EmployeeEntity;
+import com.springvoyage.mvc_restful_api.repositories.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Bad items of a bulk request are reported at their index and skipped, the good ones around them are still written.
+The batch size is 2 so every request here spans several chunks (flush + clear in between).
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:employeebulk;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "employees.bulk.batch-size=2"
+})
+class EmployeeBulkServiceTests {
+
+    @Autowired
+    private EmployeeBulkService employeeBulkService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void createSkipsInvalidEmployees() {
+        EmployeeDTO underage = employee(null, "Carla");
+        underage.setRole("OWNER");
+        underage.setAge(12);
+
+        List<BulkItemResultDTO> results = employeeBulkService.createEmployees(List.of(
+                employee(null, "Anna"),
+                employee(null, "X"),
+                employee(null, "Bernd"),
+                underage,
+                employee(null, "Dora")).iterator());
+
+        assertThat(results).extracting(BulkItemResultDTO::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results).extracting(BulkItemResultDTO::getStatus).containsExactly(
+                HttpStatus.CREATED, HttpStatus.BAD_REQUEST, HttpStatus.CREATED, HttpStatus.BAD_REQUEST, HttpStatus.CREATED);
+        assertThat(results.get(1).getErrors()).containsExactly("Number of characters in name should be in the range: [3, 10]");
+        assertThat(results.get(3).getErrors()).hasSize(2);
+        assertThat(results.get(0).getErrors()).isNull();
+
+        assertThat(employeeRepository.findAll())
+                .extracting(EmployeeEntity::getName)
+                .containsExactlyInAnyOrder("Anna", "Bernd", "Dora");
+        assertThat(employeeRepository.findAllById(ids(results, HttpStatus.CREATED))).hasSize(3);
+    }
+
+//    A client-sent id is ignored on create, the sequence hands out the id
+    @Test
+    void createIgnoresTheSentId() {
+        EmployeeEntity existing = save("Anna");
+
+        List<BulkItemResultDTO> results = employeeBulkService.createEmployees(List.of(employee(existing.getId(), "Bernd")).iterator());
+
+        assertThat(results.getFirst().getId()).isNotEqualTo(existing.getId());
+        assertThat(employeeRepository.findById(existing.getId()).orElseThrow().getName()).isEqualTo("Anna");
+        assertThat(employeeRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void updateReportsMissingAndInvalidEmployees() {
+        EmployeeEntity anna = save("Anna");
+        EmployeeEntity bernd = save("Bernd");
+        EmployeeEntity carla = save("Carla");
+        long missingId = carla.getId() + 1000;
+
+        List<BulkItemResultDTO> results = employeeBulkService.updateEmployees(List.of(
+                employee(anna.getId(), "Annabel"),
+                employee(null, "Nobody"),
+                employee(missingId, "Ghost"),
+                employee(bernd.getId(), "B"),
+                employee(carla.getId(), "Carlotta")).iterator());
+
+        assertThat(results).extracting(BulkItemResultDTO::getStatus).containsExactly(
+                HttpStatus.OK, HttpStatus.BAD_REQUEST, HttpStatus.NOT_FOUND, HttpStatus.BAD_REQUEST, HttpStatus.OK);
+        assertThat(results).extracting(BulkItemResultDTO::getId).containsExactly(
+                anna.getId(), null, missingId, bernd.getId(), carla.getId());
+        assertThat(results.get(1).getErrors()).containsExactly("Id of the employee is required");
+        assertThat(results.get(2).getErrors()).containsExactly("Employee not found with ID: " + missingId);
+
+        assertThat(employeeRepository.findAll())
+                .extracting(EmployeeEntity::getName)
+                .containsExactlyInAnyOrder("Annabel", "Bernd", "Carlotta");
+        assertThat(employeeRepository.findById(missingId)).isEmpty();
+    }
+
+    @Test
+    void deleteReportsMissingIds() {
+        EmployeeEntity anna = save("Anna");
+        EmployeeEntity bernd = save("Bernd");
+        EmployeeEntity carla = save("Carla");
+        long missingId = carla.getId() + 1000;
+
+        List<BulkItemResultDTO> results = employeeBulkService.deleteEmployees(
+                List.of(anna.getId(), missingId, carla.getId()).iterator());
+
+        assertThat(results).extracting(BulkItemResultDTO::getStatus).containsExactly(
+                HttpStatus.OK, HttpStatus.NOT_FOUND, HttpStatus.OK);
+        assertThat(results.get(1).getErrors()).containsExactly("Employee not found with ID: " + missingId);
+        assertThat(employeeRepository.findAll()).extracting(EmployeeEntity::getId).containsExactly(bernd.getId());
+    }
+
+    @Test
+    void emptyRequestHasNoResults() {
+        assertThat(employeeBulkService.createEmployees(List.<EmployeeDTO>of().iterator())).isEmpty();
+        assertThat(employeeBulkService.updateEmployees(List.<EmployeeDTO>of().iterator())).isEmpty();
+        assertThat(employeeBulkService.deleteEmployees(List.<Long>of().iterator())).isEmpty();
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private static List<Long> ids(List<BulkItemResultDTO> results, HttpStatus status) {
+        return results.stream()
+                .filter(result -> result.getStatus() == status)
+                .map(BulkItemResultDTO::getId)
+                .toList();
+    }
+
+    private static EmployeeDTO employee(Long id, String name) {
+        return EmployeeDTO.builder()
+                .id(id)
+                .name(name)
+                .email(name.toLowerCase() + "@example.com")
+                .age(30)
+                .role("USER")
+                .salary(2500.0)
+                .dateOfJoining(LocalDate.of(2024, 7, 7))
+                .isActive(true)
+                .build();
+    }
+
+    private EmployeeEntity save(String name) {
+        return employeeRepository.save(EmployeeEntity.builder()
+                .name(name)
+                .email(name.toLowerCase() + "@example.com")
+                .age(30)
+                .role("USER")
+                .salary(2500.0)
+                .dateOfJoining(LocalDate.of(2024, 7, 7))
+                .isActive(true)
+                .build());
+    }
+}
@@ -0,0 +1,108 @@
+package com.springvoyage.mvc_restful_api.services;
+
+import com.springvoyage.mvc_restful_api.entities.EmployeeEntity;
+import com.springvoyage.mvc_restful_api.exceptions.InvalidPatchException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+JSON values arrive as whatever Jackson made of them (Integer, String, Boolean ...) and are converted to the type of
+the employee property. A field that is not patchable or a value that cannot be converted names the field in the
+InvalidPatchException.
+*/
+class EmployeePatcherTests {
+
+    private final EmployeePatcher employeePatcher = new EmployeePatcher();
+
+    @Test
+    void valuesAreConvertedToThePropertyTypes() {
+        EmployeeEntity employee = employee();
+
+        boolean changed = employeePatcher.apply(employee, Map.of(
+                "salary", 5000,
+                "age", "41",
+                "dateOfJoining", "2023-01-15",
+                "isActive", "false",
+                "role", "ADMIN"));
+
+        assertThat(changed).isTrue();
+        assertThat(employee.getSalary()).isEqualTo(5000.0);
+        assertThat(employee.getAge()).isEqualTo(41);
+        assertThat(employee.getDateOfJoining()).isEqualTo(LocalDate.of(2023, 1, 15));
+        assertThat(employee.getIsActive()).isFalse();
+        assertThat(employee.getRole()).isEqualTo("ADMIN");
+        assertThat(employee.getName()).isEqualTo("Abhinav");
+    }
+
+    @Test
+    void sameValuesAreNoChange() {
+        EmployeeEntity employee = employee();
+
+        assertThat(employeePatcher.apply(employee, Map.of("salary", 2500, "age", 25, "dateOfJoining", "2024-07-07"))).isFalse();
+        assertThat(employeePatcher.apply(employee, Map.of())).isFalse();
+    }
+
+    @Test
+    void nullClearsTheProperty() {
+        EmployeeEntity employee = employee();
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("dateOfJoining", null);
+
+        assertThat(employeePatcher.apply(employee, updates)).isTrue();
+        assertThat(employee.getDateOfJoining()).isNull();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "id, 7",
+            "lastModifiedDate, 2024-07-07T10:00",
+            "password, secret"
+    })
+    void fieldThatCannotBePatchedIsRejected(String field, String value) {
+        EmployeeEntity employee = employee();
+
+        assertThatThrownBy(() -> employeePatcher.apply(employee, Map.of(field, value)))
+                .isInstanceOfSatisfying(InvalidPatchException.class, e -> assertThat(e.getField()).isEqualTo(field));
+        assertThat(employee.getId()).isEqualTo(1L);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "age, forty",
+            "salary, lots",
+            "dateOfJoining, 07/07/2024",
+            "isActive, maybe"
+    })
+    void valueOfTheWrongTypeIsRejected(String field, String value) {
+        assertThatThrownBy(() -> employeePatcher.apply(employee(), Map.of(field, value)))
+                .isInstanceOfSatisfying(InvalidPatchException.class, e -> assertThat(e.getField()).isEqualTo(field));
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private static EmployeeEntity employee() {
+        return EmployeeEntity.builder()
+                .id(1L)
+                .name("Abhinav")
+                .email("myemail@mail.com")
+                .age(25)
+                .role("USER")
+                .salary(2500.0)
+                .dateOfJoining(LocalDate.of(2024, 7, 7))
+                .isActive(true)
+                .lastModifiedDate(LocalDateTime.of(2024, 7, 7, 10, 0))
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.springvoyage.mvc_restful_api.services;
+
+import com.springvoyage.mvc_restful_api.conifgs.CacheConfig;
+import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import com.springvoyage.mvc_restful_api.exceptions.InvalidPatchException;
+import com.springvoyage.mvc_restful_api.repositories.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+The employees cache in front of getEmployeeById. A row changed behind the application's back (plain JDBC) is not
+seen while the employee is cached; an update or patch through the service replaces the cached employee, a delete
+and the bulk writes remove it, a failed patch leaves it as it was and a missing employee is never cached.
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:employeecache;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class EmployeeServiceTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeBulkService employeeBulkService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cache employeesCache;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        employeesCache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        employeesCache.clear();
+        id = employeeService.save(employee("Anna")).getId();
+    }
+
+    @Test
+    void readsAreServedFromTheCache() {
+        assertThat(employeeService.getEmployeeById(id)).map(EmployeeDTO::getName).contains("Anna");
+        assertThat(cachedName()).isEqualTo("Anna");
+
+        renameBehindTheCache("Changed");
+
+        assertThat(employeeService.getEmployeeById(id)).map(EmployeeDTO::getName).contains("Anna");
+    }
+
+    @Test
+    void updateReplacesTheCachedEmployee() {
+        employeeService.getEmployeeById(id);
+
+        employeeService.updateEmployeeById(id, employee("Annabel"));
+
+        assertThat(cachedName()).isEqualTo("Annabel");
+        assertThat(employeeService.getEmployeeById(id)).map(EmployeeDTO::getName).contains("Annabel");
+    }
+
+    @Test
+    void patchReplacesTheCachedEmployee() {
+        employeeService.getEmployeeById(id);
+
+        employeeService.patchEmployeeById(Map.of("name", "Anja", "salary", 3000), id);
+
+        assertThat(cachedName()).isEqualTo("Anja");
+        assertThat(employeeService.getEmployeeById(id)).map(EmployeeDTO::getSalary).contains(3000.0);
+    }
+
+    @Test
+    void failedPatchKeepsTheCachedEmployee() {
+        employeeService.getEmployeeById(id);
+
+        assertThatThrownBy(() -> employeeService.patchEmployeeById(Map.of("age", "old"), id))
+                .isInstanceOf(InvalidPatchException.class);
+
+        assertThat(cachedName()).isEqualTo("Anna");
+        assertThat(employeesCache.get(id, EmployeeDTO.class).getAge()).isEqualTo(30);
+    }
+
+    @Test
+    void deleteEvictsTheCachedEmployee() {
+        employeeService.getEmployeeById(id);
+
+        employeeService.deleteEmployeeById(id);
+
+        assertThat(employeesCache.get(id)).isNull();
+        assertThat(employeeService.getEmployeeById(id)).isEmpty();
+        assertThat(employeesCache.get(id)).isNull();
+    }
+
+    @Test
+    void bulkUpdateAndDeleteClearTheCache() {
+        employeeService.getEmployeeById(id);
+        EmployeeDTO renamed = employee("Annabel");
+        renamed.setId(id);
+
+        employeeBulkService.updateEmployees(List.of(renamed).iterator());
+        assertThat(employeesCache.get(id)).isNull();
+        assertThat(employeeService.getEmployeeById(id)).map(EmployeeDTO::getName).contains("Annabel");
+
+        employeeBulkService.deleteEmployees(List.of(id).iterator());
+        assertThat(employeesCache.get(id)).isNull();
+        assertThat(employeeService.getEmployeeById(id)).isEmpty();
+    }
+
+    @Test
+    void missingEmployeeIsNotCached() {
+        long missingId = id + 1000;
+
+        assertThat(employeeService.getEmployeeById(missingId)).isEmpty();
+
+        assertThat(employeesCache.get(missingId)).isNull();
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private String cachedName() {
+        return employeesCache.get(id, EmployeeDTO.class).getName();
+    }
+
+//    The employees cache does not hear of this UPDATE; the second-level cache is emptied so only it can still answer
+    private void renameBehindTheCache(String name) {
+        jdbcTemplate.update("UPDATE employee_entity SET name = ? WHERE id = ?", name, id);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private static EmployeeDTO employee(String name) {
+        return EmployeeDTO.builder()
+                .name(name)
+                .email(name.toLowerCase() + "@example.com")
+                .age(30)
+                .role("USER")
+                .salary(2500.0)
+                .dateOfJoining(LocalDate.of(2024, 7, 7))
+                .isActive(true)
+                .build();
+    }
+}
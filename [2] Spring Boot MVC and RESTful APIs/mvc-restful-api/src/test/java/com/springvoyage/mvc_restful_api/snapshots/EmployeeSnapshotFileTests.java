@@ -0,0 +1,133 @@
+package com.springvoyage.mvc_restful_api.snapshots;
+
+import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Employees written to a snapshot file come back as they were, null fields included, in id order and with the
+watermark of the dump. A file that is cut short, has a flipped byte or is not a snapshot at all reads as empty,
+and a writer that is closed without finish() leaves the previous snapshot in place.
+*/
+class EmployeeSnapshotFileTests {
+
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_456_000);
+    private static final int HEADER_BYTES = 48;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void employeesRoundTrip() throws IOException {
+        EmployeeSnapshotFile snapshotFile = snapshotFile();
+        List<EmployeeDTO> employees = List.of(
+                EmployeeDTO.builder().id(1L).name("Anna").email("anna@example.com").age(30)
+                        .dateOfJoining(LocalDate.of(2020, 1, 15)).isActive(true).role("ADMIN").salary(5000.5)
+                        .lastModifiedDate(WATERMARK.minusDays(1)).build(),
+                EmployeeDTO.builder().id(2L).name("Zoë Ørsted").isActive(false).build(),
+                EmployeeDTO.builder().id(3L).build());
+        write(snapshotFile, employees);
+
+        List<EmployeeDTO> read = new ArrayList<>();
+        Optional<EmployeeSnapshotFile.Header> header = snapshotFile.read(read::add);
+
+        assertThat(header).contains(new EmployeeSnapshotFile.Header(WATERMARK, 3));
+        assertThat(read).containsExactlyElementsOf(employees);
+    }
+
+    @Test
+    void missingFileReadsAsEmpty() throws IOException {
+        assertThat(snapshotFile().read(employee -> {})).isEmpty();
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        EmployeeSnapshotFile snapshotFile = snapshotFile();
+        write(snapshotFile, employees(100));
+
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile.path().toFile(), "rw")) {
+            file.setLength(HEADER_BYTES + 100);
+        }
+
+        List<EmployeeDTO> read = new ArrayList<>();
+        assertThat(snapshotFile.read(read::add)).isEmpty();
+        assertThat(read).isEmpty();
+    }
+
+    @Test
+    void corruptedPayloadIsRejected() throws IOException {
+        EmployeeSnapshotFile snapshotFile = snapshotFile();
+        write(snapshotFile, employees(100));
+
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile.path().toFile(), "rw")) {
+            file.seek(HEADER_BYTES + 3);
+            int value = file.read();
+            file.seek(HEADER_BYTES + 3);
+            file.write(value ^ 0xFF);
+        }
+
+        List<EmployeeDTO> read = new ArrayList<>();
+        assertThat(snapshotFile.read(read::add)).isEmpty();
+        assertThat(read).isEmpty();
+    }
+
+    @Test
+    void foreignFileIsRejected() throws IOException {
+        EmployeeSnapshotFile snapshotFile = snapshotFile();
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile.path().toFile(), "rw")) {
+            file.write(new byte[HEADER_BYTES * 2]);
+        }
+
+        assertThat(snapshotFile.read(employee -> {})).isEmpty();
+    }
+
+    @Test
+    void unfinishedWriterKeepsThePreviousSnapshot() throws IOException {
+        EmployeeSnapshotFile snapshotFile = snapshotFile();
+        write(snapshotFile, employees(2));
+
+        try (EmployeeSnapshotFile.Writer writer = snapshotFile.openWriter()) {
+            for (EmployeeDTO employee : employees(5)) writer.append(employee);
+        }
+
+        List<EmployeeDTO> read = new ArrayList<>();
+        assertThat(snapshotFile.read(read::add)).contains(new EmployeeSnapshotFile.Header(WATERMARK, 2));
+        assertThat(read).containsExactlyElementsOf(employees(2));
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private EmployeeSnapshotFile snapshotFile() {
+        return new EmployeeSnapshotFile(directory.resolve("employees.snapshot"));
+    }
+
+    private static void write(EmployeeSnapshotFile snapshotFile, List<EmployeeDTO> employees) throws IOException {
+        try (EmployeeSnapshotFile.Writer writer = snapshotFile.openWriter()) {
+            for (EmployeeDTO employee : employees) writer.append(employee);
+            writer.finish(WATERMARK);
+        }
+    }
+
+    private static List<EmployeeDTO> employees(int count) {
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            employees.add(EmployeeDTO.builder().id(id).name("Employee " + id).email("e" + id + "@example.com")
+                    .age(20 + (int) (id % 40)).role("USER").salary(1000.0 + id).isActive(true).build());
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,67 @@
+package com.springvoyage.mvc_restful_api.snapshots;
+
+import com.springvoyage.mvc_restful_api.conifgs.CacheConfig;
+import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.context.ServletWebServerInitializedEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+The warm-up against the running application: a request that deletes or replaces an employee must not be able to
+land between the reconciliation and the cache puts, so the warm-up has to be over before the web server accepts
+its first connection. The snapshot holds an employee the (empty) database does not have any more.
+*/
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:warmstart;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "employees.snapshot.enabled=true"
+})
+class EmployeeWarmStartStartupTests {
+
+    private static final AtomicReference<Boolean> warmedWhenServing = new AtomicReference<>();
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @DynamicPropertySource
+    static void snapshotFile(DynamicPropertyRegistry registry) throws IOException {
+        Path file = Files.createTempFile("employees", ".snapshot");
+        try (EmployeeSnapshotFile.Writer writer = new EmployeeSnapshotFile(file).openWriter()) {
+            writer.append(EmployeeDTO.builder().id(1L).name("Deleted").email("deleted@example.com").build());
+            writer.finish(LocalDateTime.now());
+        }
+        registry.add("employees.snapshot.file", file::toString);
+    }
+
+    @Test
+    void warmUpIsOverBeforeTheWebServerServes() {
+        assertThat(warmedWhenServing.get()).isTrue();
+        assertThat(cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).get(1L)).isNull();
+    }
+
+    @TestConfiguration
+    static class WebServerStartListener {
+
+//        Published by the web server's lifecycle right after it started accepting connections
+        @Bean
+        ApplicationListener<ServletWebServerInitializedEvent> recordWarmStartOnServing() {
+            return event -> warmedWhenServing.set(
+                    event.getApplicationContext().getBean(EmployeeWarmStart.class).isRunning());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.springvoyage.mvc_restful_api.snapshots;
+
+import com.springvoyage.mvc_restful_api.dto.EmployeeDTO;
+import com.springvoyage.mvc_restful_api.dto.ResourceVersionDTO;
+import com.springvoyage.mvc_restful_api.services.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/*
+The warm-up against a mocked EmployeeService: the snapshot is reconciled with what the database holds now.
+Employees deleted since the dump are left out, employees changed since watermark - overlap are taken from the
+database and the others come from the file as they are. A missing file warms nothing and asks the database nothing.
+*/
+class EmployeeWarmStartTests {
+
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2024, 5, 1, 12, 0);
+    private static final Duration OVERLAP = Duration.ofSeconds(5);
+
+    @TempDir
+    private Path directory;
+
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+    private final Cache employeesCache = new ConcurrentMapCache("employees");
+
+    @Test
+    void warmUpDropsDeletedEmployeesAndRereadsChangedOnes() throws IOException {
+        EmployeeSnapshotFile snapshotFile = snapshotFile(employee(1L, "Anna"), employee(2L, "Ben"), employee(3L, "Cleo"));
+        EmployeeDTO renamed = employee(3L, "Clara");
+        when(employeeService.getAllEmployeeIds()).thenReturn(List.of(1L, 3L));
+        when(employeeService.getEmployeesModifiedSince(WATERMARK.minus(OVERLAP))).thenReturn(List.of(renamed));
+
+        warmStart(snapshotFile).start();
+
+        assertThat(employeesCache.get(1L, EmployeeDTO.class)).isEqualTo(employee(1L, "Anna"));
+        assertThat(employeesCache.get(2L)).isNull();
+        assertThat(employeesCache.get(3L, EmployeeDTO.class)).isEqualTo(renamed);
+    }
+
+    @Test
+    void missingSnapshotStartsCold() {
+        EmployeeWarmStart warmStart = warmStart(new EmployeeSnapshotFile(directory.resolve("employees.snapshot")));
+
+        warmStart.start();
+
+        assertThat(warmStart.isRunning()).isTrue();
+        assertThat(employeesCache.get(1L)).isNull();
+        verify(employeeService, never()).getAllEmployeeIds();
+        verify(employeeService, never()).getEmployeesModifiedSince(any());
+    }
+
+//    The dump and the next warm-up meet only through the file
+    @Test
+    void dumpIsReadBackByTheNextStart() throws IOException {
+        EmployeeSnapshotFile snapshotFile = new EmployeeSnapshotFile(directory.resolve("employees.snapshot"));
+        when(employeeService.getEmployeesVersion()).thenReturn(new ResourceVersionDTO(2L, WATERMARK));
+        doAnswer(invocation -> {
+            Consumer<EmployeeDTO> consumer = invocation.getArgument(0);
+            consumer.accept(employee(1L, "Anna"));
+            consumer.accept(employee(2L, "Ben"));
+            return null;
+        }).when(employeeService).streamAllEmployees(any());
+        warmStart(snapshotFile).dump();
+        assertThat(Files.exists(snapshotFile.path())).isTrue();
+
+        when(employeeService.getAllEmployeeIds()).thenReturn(List.of(1L, 2L));
+        when(employeeService.getEmployeesModifiedSince(WATERMARK.minus(OVERLAP))).thenReturn(List.of());
+        warmStart(snapshotFile).start();
+
+        assertThat(employeesCache.get(1L, EmployeeDTO.class)).isEqualTo(employee(1L, "Anna"));
+        assertThat(employeesCache.get(2L, EmployeeDTO.class)).isEqualTo(employee(2L, "Ben"));
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private EmployeeWarmStart warmStart(EmployeeSnapshotFile snapshotFile) {
+        return new EmployeeWarmStart(employeeService, employeesCache, snapshotFile, OVERLAP);
+    }
+
+    private EmployeeSnapshotFile snapshotFile(EmployeeDTO... employees) throws IOException {
+        EmployeeSnapshotFile snapshotFile = new EmployeeSnapshotFile(directory.resolve("employees.snapshot"));
+        try (EmployeeSnapshotFile.Writer writer = snapshotFile.openWriter()) {
+            for (EmployeeDTO employee : employees) writer.append(employee);
+            writer.finish(WATERMARK);
+        }
+        return snapshotFile;
+    }
+
+    private static EmployeeDTO employee(Long id, String name) {
+        return EmployeeDTO.builder()
+                .id(id)
+                .name(name)
+                .email(name.toLowerCase() + "@example.com")
+                .age(30)
+                .role("USER")
+                .salary(5000.0)
+                .isActive(true)
+                .lastModifiedDate(WATERMARK.minusDays(1))
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.advices;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.exceptions.InvalidRequestException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+//    Request parameters out of range (too many skus in one lookup, units <= 0...), the message says which
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ApiError> handleInvalidRequestException(InvalidRequestException exception){
+        ApiError apiError = new ApiError(exception.getMessage(), HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,36 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.configs;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services.ProductCatalogSnapshotFile;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services.ProductCatalogSnapshotService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/*
+products.catalog-snapshot.enabled=true -> /products/catalog reads from a columnar in-memory snapshot of product_table,
+refreshed in the background. Off by default: the snapshot trades heap for not touching the DB on catalog reads.
+products.catalog-snapshot.file (blank -> none) keeps it on disk between restarts.
+*/
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(value = "products.catalog-snapshot.enabled", havingValue = "true")
+public class CatalogSnapshotConfig {
+
+    @Bean
+    ProductCatalogSnapshotService productCatalogSnapshotService(JdbcTemplate jdbcTemplate,
+                                                                @Value("${products.catalog-snapshot.overlap:5s}") Duration overlap,
+                                                                @Value("${products.catalog-snapshot.max-garbage-ratio:0.25}") double maxGarbageRatio,
+                                                                @Value("${products.catalog-snapshot.file:}") String file) {
+        Optional<ProductCatalogSnapshotFile> snapshotFile = file.isBlank()
+                ? Optional.empty()
+                : Optional.of(new ProductCatalogSnapshotFile(Path.of(file)));
+        return new ProductCatalogSnapshotService(jdbcTemplate, overlap, maxGarbageRatio, snapshotFile);
+    }
+}
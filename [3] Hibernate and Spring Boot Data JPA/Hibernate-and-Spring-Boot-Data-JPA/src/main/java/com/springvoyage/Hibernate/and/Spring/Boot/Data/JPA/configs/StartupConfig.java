@@ -0,0 +1,21 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.configs;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.sql.init.AbstractScriptDatabaseInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+/*  Beans still created at startup when spring.main.lazy-initialization=true ("startup" profile):
+    - the EntityManagerFactory (Hibernate metamodel, schema creation): the most expensive part of the refresh,
+      made lazy it would only move that cost into the first request
+    - the data.sql initializer: nothing injects it, lazy it would only run once some JdbcTemplate is created
+    Static: it is read by a BeanFactoryPostProcessor, before the other beans of this class exist.*/
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EntityManagerFactory.class, AbstractScriptDatabaseInitializer.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.controllers;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductCatalogStatsDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services.ProductCatalogSnapshot;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services.ProductCatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+Read-only catalog served from ProductCatalogSnapshot, no DB round trip and no entities.
+Data can be up to products.catalog-snapshot.refresh-interval-ms old, createdAt / updatedAt are not part of the snapshot.
+*/
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "products/catalog")
+@ConditionalOnProperty(value = "products.catalog-snapshot.enabled", havingValue = "true")
+public class ProductCatalogController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ProductCatalogSnapshotService productCatalogSnapshotService;
+
+//    Keyset page in id order: /products/catalog?afterId=0&limit=100, then afterId = id of the last product
+    @GetMapping
+    public ResponseEntity<List<ProductDTO>> getProducts(@RequestParam(defaultValue = "0") long afterId,
+                                                        @RequestParam(defaultValue = "100") int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) return ResponseEntity.badRequest().build();
+        ProductCatalogSnapshot snapshot = productCatalogSnapshotService.current();
+        int from = snapshot.firstRowAfter(afterId);
+        int to = Math.min(snapshot.size(), from + limit);
+        List<ProductDTO> products = new ArrayList<>(to - from);
+        for (int row = from; row < to; row++) products.add(toDTO(snapshot, row));
+        return ResponseEntity.ok(products);
+    }
+
+    @GetMapping(path = "/{id}")
+    public ResponseEntity<ProductDTO> getProductById(@PathVariable long id) {
+        ProductCatalogSnapshot snapshot = productCatalogSnapshotService.current();
+        int row = snapshot.rowOfId(id);
+        if (row < 0) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(toDTO(snapshot, row));
+    }
+
+    @GetMapping(path = "/sku/{sku}")
+    public ResponseEntity<ProductDTO> getProductBySku(@PathVariable String sku) {
+        ProductCatalogSnapshot snapshot = productCatalogSnapshotService.current();
+        int row = snapshot.rowOfSku(sku);
+        if (row < 0) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(toDTO(snapshot, row));
+    }
+
+    @GetMapping(path = "/stats")
+    public ResponseEntity<ProductCatalogStatsDTO> getStats() {
+        ProductCatalogSnapshot snapshot = productCatalogSnapshotService.current();
+        return ResponseEntity.ok(ProductCatalogStatsDTO.builder()
+                .version(snapshot.version())
+                .products(snapshot.size())
+                .footprintBytes(snapshot.footprintBytes())
+                .garbageRatio(snapshot.garbageRatio())
+                .watermark(productCatalogSnapshotService.watermark())
+                .build());
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private ProductDTO toDTO(ProductCatalogSnapshot snapshot, int row) {
+        return ProductDTO.builder()
+                .id(snapshot.id(row))
+                .sku(snapshot.sku(row))
+                .title(snapshot.title(row))
+                .price(snapshot.price(row))
+                .quantity(snapshot.quantity(row))
+                .build();
+    }
+}
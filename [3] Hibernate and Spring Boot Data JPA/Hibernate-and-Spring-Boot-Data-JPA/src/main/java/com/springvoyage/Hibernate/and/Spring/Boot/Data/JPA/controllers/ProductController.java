@@ -0,0 +1,75 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.controllers;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductSearchResultDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.exceptions.InvalidRequestException;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services.ProductSearchService;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services.ProductService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "products")
+public class ProductController {
+
+    private static final int MAX_SKUS_PER_LOOKUP = 1000;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    private final ProductService productService;
+    private final ProductSearchService productSearchService;
+
+    @GetMapping(path = "/{id}")
+    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
+        return ResponseEntity.of(productService.getProductById(id));
+    }
+
+    @GetMapping(path = "/sku/{sku}")
+    public ResponseEntity<ProductDTO> getProductBySku(@PathVariable String sku) {
+        return ResponseEntity.of(productService.getProductBySku(sku));
+    }
+
+//    Batch lookup for a cart: /products/sku?skus=pepsi123,Coke124,maggi666
+    @GetMapping(path = "/sku")
+    public ResponseEntity<List<ProductDTO>> getProductsBySkus(@RequestParam List<String> skus) {
+        if (skus.size() > MAX_SKUS_PER_LOOKUP) {
+            throw new InvalidRequestException("At most " + MAX_SKUS_PER_LOOKUP + " skus per lookup, got " + skus.size());
+        }
+        return ResponseEntity.ok(productService.getProductsBySkus(skus));
+    }
+
+//    Served from the in-memory index: /products/search?q=pepsi&minPrice=10&maxPrice=20&page=0&size=20
+//    Without q every product in the price range is returned, cheapest first
+    @GetMapping(path = "/search")
+    public ResponseEntity<ProductSearchResultDTO> searchProducts(@RequestParam(required = false) String q,
+                                                                 @RequestParam(required = false) BigDecimal minPrice,
+                                                                 @RequestParam(required = false) BigDecimal maxPrice,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size <= 0 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new InvalidRequestException("page must be >= 0 and size between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(productSearchService.search(q, minPrice, maxPrice, page, size));
+    }
+
+    @PostMapping
+    public ResponseEntity<ProductDTO> createNewProduct(@RequestBody ProductDTO productDTO) {
+        return new ResponseEntity<>(productService.createNewProduct(productDTO), HttpStatus.CREATED);
+    }
+
+    @PutMapping(path = "/{id}")
+    public ResponseEntity<ProductDTO> updateProductById(@PathVariable Long id, @RequestBody ProductDTO productDTO) {
+        return ResponseEntity.of(productService.updateProductById(id, productDTO));
+    }
+
+    @DeleteMapping(path = "/{id}")
+    public ResponseEntity<Boolean> deleteProductById(@PathVariable Long id) {
+        if (productService.deleteProductById(id)) return ResponseEntity.ok(true);
+        return ResponseEntity.notFound().build();
+    }
+}
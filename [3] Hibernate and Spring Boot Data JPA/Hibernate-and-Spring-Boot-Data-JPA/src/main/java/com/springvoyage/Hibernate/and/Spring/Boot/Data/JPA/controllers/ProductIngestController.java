@@ -0,0 +1,48 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.controllers;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.IngestReportDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductFileFormat;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services.ProductIngestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/*
+The catalog file is the raw request body and is read as it arrives, e.g.
+curl -X POST "localhost:8080/products/ingest?job=catalog-2024-08" -H "Content-Type: text/csv" --data-binary @catalog.csv
+Sending the same file again with the same job name resumes after the last committed batch.
+*/
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "products/ingest")
+public class ProductIngestController {
+
+    private final ProductIngestService productIngestService;
+
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<IngestReportDTO> ingestCsv(@RequestParam String job,
+                                                     @RequestParam(defaultValue = "false") boolean restart,
+                                                     InputStream inputStream) {
+        return ingest(job, restart, ProductFileFormat.CSV, inputStream);
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<IngestReportDTO> ingestNdjson(@RequestParam String job,
+                                                        @RequestParam(defaultValue = "false") boolean restart,
+                                                        InputStream inputStream) {
+        return ingest(job, restart, ProductFileFormat.NDJSON, inputStream);
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private ResponseEntity<IngestReportDTO> ingest(String job, boolean restart, ProductFileFormat format, InputStream inputStream) {
+        if (restart) productIngestService.resetJob(job);
+        return ResponseEntity.ok(productIngestService.ingest(job, format, inputStream));
+    }
+}
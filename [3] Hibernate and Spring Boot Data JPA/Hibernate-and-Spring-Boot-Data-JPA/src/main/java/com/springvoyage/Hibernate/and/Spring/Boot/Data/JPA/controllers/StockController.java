@@ -0,0 +1,47 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.controllers;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.StockReservationDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.StockReservationStrategy;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.exceptions.InvalidRequestException;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services.StockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "stock")
+public class StockController {
+
+    private final StockService stockService;
+
+//    /stock/pepsi123/reserve?units=2&strategy=OPTIMISTIC -> 200 reserved, 409 not enough stock / too much contention,
+//    400 units <= 0
+    @PostMapping(path = "/{sku}/reserve")
+    public ResponseEntity<StockReservationDTO> reserve(@PathVariable String sku,
+                                                       @RequestParam(defaultValue = "1") int units,
+                                                       @RequestParam(defaultValue = "ATOMIC") StockReservationStrategy strategy) {
+        if (units <= 0) throw new InvalidRequestException("units must be > 0, got " + units);
+        StockReservationDTO reservation = stockService.reserve(sku, units, strategy);
+        HttpStatus status = switch (reservation.getStatus()) {
+            case RESERVED -> HttpStatus.OK;
+            case UNKNOWN_SKU -> HttpStatus.NOT_FOUND;
+            case INSUFFICIENT_STOCK, CONTENDED -> HttpStatus.CONFLICT;
+        };
+        return new ResponseEntity<>(reservation, status);
+    }
+
+//    Moves the sku to the in-memory flash sale pool, stock is taken from the row leaseSize units at a time
+    @PostMapping(path = "/flash/{sku}")
+    public ResponseEntity<Void> startFlashSale(@PathVariable String sku, @RequestParam(defaultValue = "100") int leaseSize) {
+        stockService.startFlashSale(sku, leaseSize);
+        return ResponseEntity.noContent().build();
+    }
+
+//    Ends the flash sale, returns how many leased units went back to the row
+    @DeleteMapping(path = "/flash/{sku}")
+    public ResponseEntity<Long> endFlashSale(@PathVariable String sku) {
+        return ResponseEntity.ok(stockService.endFlashSale(sku));
+    }
+}
@@ -0,0 +1,25 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestReportDTO {
+    private String jobName;
+    private ProductFileFormat format;
+    private long resumedFromLine; // 0 for a fresh job, lines up to here were committed by an earlier run
+    private long linesRead;
+    private long rowsWritten;
+    private long rowsRejected;
+    private long batches;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<String> errors; // first few rejections, "line <n>: <reason>"
+}
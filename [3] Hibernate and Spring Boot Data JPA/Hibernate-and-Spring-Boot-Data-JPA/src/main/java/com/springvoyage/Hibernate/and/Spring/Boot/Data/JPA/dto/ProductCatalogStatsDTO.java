@@ -0,0 +1,20 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductCatalogStatsDTO {
+    private long version;
+    private int products;
+    private long footprintBytes;
+    private double garbageRatio; // share of the string dictionary left over from updated rows
+    private LocalDateTime watermark;
+}
@@ -0,0 +1,23 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductDTO {
+    private Long id;
+    private String sku;
+    private String title;
+    private BigDecimal price;
+    private Integer quantity;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
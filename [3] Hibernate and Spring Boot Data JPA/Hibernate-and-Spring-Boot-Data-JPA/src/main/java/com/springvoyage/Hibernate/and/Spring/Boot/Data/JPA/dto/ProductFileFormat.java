@@ -0,0 +1,6 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto;
+
+public enum ProductFileFormat {
+    CSV,    // header line with sku,title,price,quantity (any order), then one product per line
+    NDJSON  // one JSON object per line
+}
@@ -0,0 +1,20 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductRowDTO {
+    private long lineNumber; // line in the source file, used for checkpoints and error messages
+    private String sku;
+    private String title;
+    private BigDecimal price;
+    private Integer quantity;
+}
@@ -0,0 +1,20 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSearchHitDTO {
+    private Long id;
+    private String sku;
+    private String title;
+    private BigDecimal price;
+    private double score; // relevance of the title for the query, 0 for a price-only search
+}
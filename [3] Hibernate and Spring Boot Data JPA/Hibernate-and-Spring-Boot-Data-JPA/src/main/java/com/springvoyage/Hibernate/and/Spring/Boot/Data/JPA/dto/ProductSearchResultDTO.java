@@ -0,0 +1,20 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSearchResultDTO {
+    private String query;
+    private int page;
+    private int size;
+    private long totalHits;
+    private List<ProductSearchHitDTO> hits; // best match first; cheapest first when there is no query
+}
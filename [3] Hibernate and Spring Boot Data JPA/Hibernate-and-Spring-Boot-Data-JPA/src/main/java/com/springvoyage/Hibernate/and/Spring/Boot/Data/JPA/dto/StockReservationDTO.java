@@ -0,0 +1,17 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReservationDTO {
+    private String sku;
+    private int units;
+    private StockReservationStatus status;
+    private boolean flashSale; // served from the in-memory flash sale pool
+}
@@ -0,0 +1,8 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto;
+
+public enum StockReservationStatus {
+    RESERVED,
+    INSUFFICIENT_STOCK,
+    UNKNOWN_SKU,
+    CONTENDED // optimistic strategy only: still losing the version race after all retries
+}
@@ -0,0 +1,6 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto;
+
+public enum StockReservationStrategy {
+    ATOMIC,     // UPDATE ... SET quantity = quantity - ? WHERE sku = ? AND quantity >= ?
+    OPTIMISTIC  // read, check and write the entity, retry when @Version reports a concurrent update
+}
@@ -0,0 +1,32 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/*
+Progress of a product ingestion job.
+Saved in the same transaction as each batch, so after a crash the job resumes right after the last batch that
+actually made it into product_table.
+*/
+@Entity
+@Table(name = "ingest_checkpoint")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class IngestCheckpoint {
+    @Id
+    private String jobName;
+    private long lastCommittedLine;
+    private long rowsWritten;
+    private long rowsRejected;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -2,6 +2,7 @@ package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -32,6 +33,13 @@ public class Product {
     private BigDecimal price;
     private Integer quantity;
 
+//    Optimistic locking for read-modify-write updates. Bulk SQL that changes a row (stock decrements, ingestion
+//    upserts) bumps it as well, the default covers rows inserted by plain SQL (data.sql, ingestion).
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -0,0 +1,7 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.exceptions;
+
+public class InvalidRequestException extends RuntimeException{
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
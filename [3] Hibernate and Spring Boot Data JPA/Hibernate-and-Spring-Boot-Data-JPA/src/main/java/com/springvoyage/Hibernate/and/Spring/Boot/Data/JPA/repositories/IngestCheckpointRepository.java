@@ -0,0 +1,9 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.repositories;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.entities.IngestCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IngestCheckpointRepository extends JpaRepository<IngestCheckpoint, String> {
+}
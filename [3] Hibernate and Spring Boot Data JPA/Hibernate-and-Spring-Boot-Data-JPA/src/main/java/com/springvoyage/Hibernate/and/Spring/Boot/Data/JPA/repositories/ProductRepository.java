@@ -0,0 +1,43 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.repositories;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.entities.Product;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long> {
+
+//    WHERE sku = ? -> served by sku_index / sku_unique
+    Optional<Product> findBySku(String sku);
+
+//    WHERE sku IN (...) -> all products of a cart in one round trip
+    List<Product> findAllBySkuIn(Collection<String> skus);
+
+    boolean existsBySku(String sku);
+
+//    Check and decrement in one statement -> no read-modify-write race, the row lock is held only for this UPDATE.
+//    Returns 0 when the sku is unknown or has less than :units in stock.
+//    updated_at is stamped as well, the catalog snapshot picks up changed rows by it.
+    @Modifying
+    @Query("""
+            update Product p set p.quantity = p.quantity - :units, p.version = p.version + 1, p.updatedAt = local datetime
+            where p.sku = :sku and p.quantity >= :units
+            """)
+    int decrementStock(String sku, int units);
+
+    @Modifying
+    @Query("""
+            update Product p set p.quantity = p.quantity + :units, p.version = p.version + 1, p.updatedAt = local datetime
+            where p.sku = :sku
+            """)
+    int incrementStock(String sku, int units);
+
+    @Query("select p.quantity from Product p where p.sku = :sku")
+    Optional<Integer> findQuantityBySku(String sku);
+}
@@ -0,0 +1,152 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+In-memory stock for flash sale skus, so thousands of concurrent orders don't all queue up on one product row.
+
+Stock is leased from product_table in batches (one conditional UPDATE takes lease-size units out of the row) and
+spread over a few striped counters. A reservation is a CAS on one stripe, threads start at a random stripe, so they
+rarely touch the same counter. Only when the stripes run dry does a thread take the pool lock to collect the leftovers
+of all stripes and lease the next batch. Counters never go below zero and units only move between the row and the
+stripes, so the pool can never sell more than the row held.
+Ending the sale gives the units that were not sold back to the row.
+*/
+@Component
+public class FlashSaleStock {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int stripes;
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+    public FlashSaleStock(ProductRepository productRepository, TransactionTemplate transactionTemplate,
+                          @Value("${products.stock.flash-sale.stripes:0}") int stripes) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        // Default: next power of two >= number of cores
+        int wanted = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        this.stripes = Integer.highestOneBit(Math.max(1, wanted - 1)) << 1;
+    }
+
+    public boolean isActive(String sku) {
+        return pools.containsKey(key(sku));
+    }
+
+    public void start(String sku, int leaseSize) {
+        pools.putIfAbsent(key(sku), new Pool(sku, Math.max(1, leaseSize), stripes));
+    }
+
+//    Returns the number of unsold units that went back to product_table
+    public long end(String sku) {
+        Pool pool = pools.remove(key(sku));
+        if (pool == null) return 0;
+        synchronized (pool) {
+            pool.closed = true;
+            long unsold = pool.drain();
+            if (unsold > 0) {
+                transactionTemplate.executeWithoutResult(status -> productRepository.incrementStock(pool.sku, Math.toIntExact(unsold)));
+            }
+            return unsold;
+        }
+    }
+
+//    Empty -> the sku is not in a flash sale, otherwise whether the units could be reserved
+    public Optional<Boolean> tryReserve(String sku, int units) {
+        Pool pool = pools.get(key(sku));
+        if (pool == null) return Optional.empty();
+        if (pool.tryTakeFromStripe(units)) return Optional.of(true);
+        return Optional.ofNullable(refillAndTake(pool, units));
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+//    Slow path, one thread per pool at a time: gather what is left in the stripes, lease more if that's not enough.
+//    Null when the sale ended meanwhile, the caller then reserves from the row directly.
+    private Boolean refillAndTake(Pool pool, int units) {
+        synchronized (pool) {
+            if (pool.tryTakeFromStripe(units)) return true; // another thread refilled while we waited
+            if (pool.closed) return null; // sale ended, its units are already back in the row
+            long available = pool.drain();
+            while (available < units) {
+                int leased = lease(pool.sku, Math.max(pool.leaseSize, units - (int) available));
+                if (leased == 0) break;
+                available += leased;
+            }
+            boolean reserved = available >= units;
+            if (reserved) available -= units;
+            pool.spread(available);
+            return reserved;
+        }
+    }
+
+//    Takes up to wanted units out of the row with the conditional decrement, 0 when the row is sold out.
+//    Every attempt is its own short transaction, so a retry always sees the latest quantity.
+    private int lease(String sku, int wanted) {
+        int units = wanted;
+        while (units > 0) {
+            int attempt = units;
+            Integer updated = transactionTemplate.execute(status -> productRepository.decrementStock(sku, attempt));
+            if (updated != null && updated > 0) return units;
+            units = Math.min(units, productRepository.findQuantityBySku(sku).orElse(0)); // fewer left than we wanted
+        }
+        return 0;
+    }
+
+    private static String key(String sku) {
+        return sku.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Pool {
+        private final String sku;
+        private final int leaseSize;
+        private final AtomicLongArray counters;
+        private boolean closed; // guarded by the pool lock
+
+        private Pool(String sku, int leaseSize, int stripes) {
+            this.sku = sku;
+            this.leaseSize = leaseSize;
+            this.counters = new AtomicLongArray(stripes);
+        }
+
+        private boolean tryTakeFromStripe(int units) {
+            int mask = counters.length() - 1;
+            int start = ThreadLocalRandom.current().nextInt(counters.length());
+            for (int i = 0; i < counters.length(); i++) {
+                int stripe = (start + i) & mask;
+                long current = counters.get(stripe);
+                while (current >= units) {
+                    if (counters.compareAndSet(stripe, current, current - units)) return true;
+                    current = counters.get(stripe);
+                }
+            }
+            return false;
+        }
+
+        private long drain() {
+            long total = 0;
+            for (int i = 0; i < counters.length(); i++) total += counters.getAndSet(i, 0);
+            return total;
+        }
+
+        private void spread(long units) {
+            long share = units / counters.length();
+            for (int i = 0; i < counters.length(); i++) {
+                counters.addAndGet(i, share + (i < units % counters.length() ? 1 : 0));
+            }
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/*
+Read-only, columnar copy of product_table for read-heavy catalog APIs.
+A List<Product> costs every row an entity, a boxed Long and Integer, a BigDecimal, two LocalDateTimes and two Strings
+(roughly 350+ bytes and ~12 objects the GC has to trace). Here a row is one slot in a handful of primitive arrays:
+- ids (ascending, binary searched), prices as longs scaled by 10^PRICE_SCALE, quantities as ints
+- sku and title as int codes into one UTF-8 byte[] dictionary, identical strings are stored once
+- an open-addressing int[] table for case-insensitive sku lookups
+Instances never change after construction, so readers need no locks: ProductCatalogSnapshotService publishes a new
+snapshot through a volatile field. patch() shares nothing mutable with the old snapshot, strings of replaced rows stay
+in the dictionary as garbage until the next full rebuild.
+*/
+public final class ProductCatalogSnapshot {
+
+    public record Row(long id, String sku, String title, BigDecimal price, Integer quantity) {}
+
+//    Same scale as the price column (decimal(38,2))
+    public static final int PRICE_SCALE = 2;
+    private static final long NO_PRICE = Long.MIN_VALUE;
+    private static final int NO_QUANTITY = Integer.MIN_VALUE;
+    private static final int NO_STRING = -1;
+
+    private static final ProductCatalogSnapshot EMPTY = new Builder(0, new Dictionary(0, 0)).build(0);
+
+    private final long version;
+    private final int size;
+    private final long[] ids;
+    private final long[] prices;
+    private final int[] quantities;
+    private final int[] skuCodes;
+    private final int[] skuHashes;
+    private final int[] titleCodes;
+    private final Dictionary dictionary;
+    private final int liveStrings;
+    private final int[] skuSlots; // row + 1, 0 -> empty slot
+
+    private ProductCatalogSnapshot(long version, int size, long[] ids, long[] prices, int[] quantities,
+                                   int[] skuCodes, int[] skuHashes, int[] titleCodes, Dictionary dictionary) {
+        this.version = version;
+        this.size = size;
+        this.ids = ids;
+        this.prices = prices;
+        this.quantities = quantities;
+        this.skuCodes = skuCodes;
+        this.skuHashes = skuHashes;
+        this.titleCodes = titleCodes;
+        this.dictionary = dictionary;
+        this.liveStrings = countLiveStrings();
+        this.skuSlots = buildSkuSlots();
+    }
+
+    public static ProductCatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+//    Full build, rows have to be added in ascending id order
+    public static Builder builder(int expectedRows) {
+        return new Builder(expectedRows, new Dictionary(expectedRows * 2, expectedRows * 24));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+//    Row of the product, -1 if it isn't in the snapshot
+    public int rowOfId(long id) {
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        return row >= 0 ? row : -1;
+    }
+
+//    First row whose id is > id, size() if there is none -> keyset paging over the snapshot
+    public int firstRowAfter(long id) {
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        return row >= 0 ? row + 1 : -row - 1;
+    }
+
+//    Case-insensitive like sku_unique, -1 if unknown
+    public int rowOfSku(String sku) {
+        if (sku == null || skuSlots.length == 0) return -1;
+        int hash = skuHash(sku);
+        int mask = skuSlots.length - 1;
+        for (int slot = mix(hash) & mask; skuSlots[slot] != 0; slot = (slot + 1) & mask) {
+            int row = skuSlots[slot] - 1;
+            if (skuHashes[row] == hash && sku.equalsIgnoreCase(sku(row))) return row;
+        }
+        return -1;
+    }
+
+    public long id(int row) {
+        return ids[row];
+    }
+
+    public String sku(int row) {
+        return dictionary.get(skuCodes[row]);
+    }
+
+    public String title(int row) {
+        return dictionary.get(titleCodes[row]);
+    }
+
+    public BigDecimal price(int row) {
+        return prices[row] == NO_PRICE ? null : BigDecimal.valueOf(prices[row], PRICE_SCALE);
+    }
+
+//    Price * 10^PRICE_SCALE, for comparisons and sums without BigDecimal
+    public long priceUnits(int row) {
+        return prices[row];
+    }
+
+    public Integer quantity(int row) {
+        return quantities[row] == NO_QUANTITY ? null : quantities[row];
+    }
+
+//    Unboxed for scans, a missing quantity counts as 0
+    public int quantityOrZero(int row) {
+        return quantities[row] == NO_QUANTITY ? 0 : quantities[row];
+    }
+
+    /*
+    New snapshot with the given rows inserted or replaced (matched by id) and the given ids removed.
+    Old rows are copied column by column, only the changed rows' strings are encoded.
+    */
+    public ProductCatalogSnapshot patch(Collection<Row> upserts, Collection<Long> deletedIds, long newVersion) {
+        Row[] changes = upserts.toArray(Row[]::new);
+        Arrays.sort(changes, Comparator.comparingLong(Row::id));
+        long[] deleted = deletedIds.stream().mapToLong(Long::longValue).sorted().toArray();
+
+        Builder builder = new Builder(size + changes.length, dictionary.copy(changes.length * 2, changes.length * 24));
+        int row = 0;
+        int change = 0;
+        while (row < size || change < changes.length) {
+            if (change < changes.length && (row == size || changes[change].id() <= ids[row])) {
+                Row changed = changes[change++];
+                // several versions of the same row in one patch -> the last one wins
+                if (change < changes.length && changes[change].id() == changed.id()) continue;
+                if (row < size && ids[row] == changed.id()) row++;
+                if (Arrays.binarySearch(deleted, changed.id()) < 0) builder.add(changed);
+            } else {
+                if (Arrays.binarySearch(deleted, ids[row]) < 0) builder.copy(this, row);
+                row++;
+            }
+        }
+        return builder.build(newVersion);
+    }
+
+//    Share of the dictionary no row refers to anymore (strings of updated or deleted rows)
+    public double garbageRatio() {
+        return dictionary.count == 0 ? 0 : 1 - (double) liveStrings / dictionary.count;
+    }
+
+    public long footprintBytes() {
+        return 8L * ids.length + 8L * prices.length + 4L * quantities.length + 4L * skuCodes.length
+                + 4L * skuHashes.length + 4L * titleCodes.length + 4L * skuSlots.length
+                + dictionary.bytes.length + 4L * dictionary.offsets.length;
+    }
+
+    /*
+    Binary form used by ProductCatalogSnapshotFile: row and string counts, the columns one after the other, then the
+    dictionary. Columns are copied in bulk (view buffers), never row by row; the sku table is rebuilt on read.
+    */
+    public long serializedSize() {
+        return 16L + size * (8L + 8L + 4L + 4L + 4L + 4L) + 4L * (dictionary.count + 1) + dictionary.offsets[dictionary.count];
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(size).putInt(dictionary.count).putInt(dictionary.offsets[dictionary.count]).putInt(0);
+        buffer.asLongBuffer().put(ids, 0, size);
+        buffer.position(buffer.position() + 8 * size);
+        buffer.asLongBuffer().put(prices, 0, size);
+        buffer.position(buffer.position() + 8 * size);
+        for (int[] column : new int[][]{quantities, skuCodes, skuHashes, titleCodes}) {
+            buffer.asIntBuffer().put(column, 0, size);
+            buffer.position(buffer.position() + 4 * size);
+        }
+        buffer.asIntBuffer().put(dictionary.offsets, 0, dictionary.count + 1);
+        buffer.position(buffer.position() + 4 * (dictionary.count + 1));
+        buffer.put(dictionary.bytes, 0, dictionary.offsets[dictionary.count]);
+    }
+
+    public static ProductCatalogSnapshot readFrom(ByteBuffer buffer, long version) {
+        int size = buffer.getInt();
+        int stringCount = buffer.getInt();
+        int byteCount = buffer.getInt();
+        buffer.getInt();
+        long[] ids = new long[size];
+        long[] prices = new long[size];
+        buffer.asLongBuffer().get(ids);
+        buffer.position(buffer.position() + 8 * size);
+        buffer.asLongBuffer().get(prices);
+        buffer.position(buffer.position() + 8 * size);
+        int[][] intColumns = new int[4][size];
+        for (int[] column : intColumns) {
+            buffer.asIntBuffer().get(column);
+            buffer.position(buffer.position() + 4 * size);
+        }
+        int[] offsets = new int[stringCount + 1];
+        buffer.asIntBuffer().get(offsets);
+        buffer.position(buffer.position() + 4 * offsets.length);
+        byte[] bytes = new byte[byteCount];
+        buffer.get(bytes);
+        return new ProductCatalogSnapshot(version, size, ids, prices, intColumns[0], intColumns[1], intColumns[2],
+                intColumns[3], new Dictionary(bytes, offsets, stringCount));
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private int countLiveStrings() {
+        BitSet live = new BitSet(dictionary.count);
+        for (int row = 0; row < size; row++) {
+            if (skuCodes[row] != NO_STRING) live.set(skuCodes[row]);
+            if (titleCodes[row] != NO_STRING) live.set(titleCodes[row]);
+        }
+        return live.cardinality();
+    }
+
+    private int[] buildSkuSlots() {
+        if (size == 0) return new int[0];
+        int[] slots = new int[Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1]; // load factor <= 0.5
+        int mask = slots.length - 1;
+        for (int row = 0; row < size; row++) {
+            if (skuCodes[row] == NO_STRING) continue;
+            int slot = mix(skuHashes[row]) & mask;
+            while (slots[slot] != 0) slot = (slot + 1) & mask;
+            slots[slot] = row + 1;
+        }
+        return slots;
+    }
+
+    private static int skuHash(String sku) {
+        return sku.toLowerCase(Locale.ROOT).hashCode();
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static long toPriceUnits(BigDecimal price) {
+        return price == null ? NO_PRICE : price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static final class Builder {
+        private final Dictionary dictionary;
+        private final Map<String, Integer> codes = new HashMap<>(); // only the strings encoded by this builder
+        private long[] ids;
+        private long[] prices;
+        private int[] quantities;
+        private int[] skuCodes;
+        private int[] skuHashes;
+        private int[] titleCodes;
+        private int size;
+
+        private Builder(int expectedRows, Dictionary dictionary) {
+            int capacity = Math.max(16, expectedRows);
+            this.dictionary = dictionary;
+            this.ids = new long[capacity];
+            this.prices = new long[capacity];
+            this.quantities = new int[capacity];
+            this.skuCodes = new int[capacity];
+            this.skuHashes = new int[capacity];
+            this.titleCodes = new int[capacity];
+        }
+
+        public Builder add(Row row) {
+            int at = next(row.id());
+            prices[at] = toPriceUnits(row.price());
+            quantities[at] = row.quantity() == null ? NO_QUANTITY : row.quantity();
+            skuCodes[at] = encode(row.sku());
+            skuHashes[at] = row.sku() == null ? 0 : skuHash(row.sku());
+            titleCodes[at] = encode(row.title());
+            return this;
+        }
+
+        public ProductCatalogSnapshot build(long version) {
+            return new ProductCatalogSnapshot(version, size, Arrays.copyOf(ids, size), Arrays.copyOf(prices, size),
+                    Arrays.copyOf(quantities, size), Arrays.copyOf(skuCodes, size), Arrays.copyOf(skuHashes, size),
+                    Arrays.copyOf(titleCodes, size), dictionary.trimmed());
+        }
+
+//        Unchanged row of the snapshot being patched, its string codes stay valid in the copied dictionary
+        private void copy(ProductCatalogSnapshot source, int row) {
+            int at = next(source.ids[row]);
+            prices[at] = source.prices[row];
+            quantities[at] = source.quantities[row];
+            skuCodes[at] = source.skuCodes[row];
+            skuHashes[at] = source.skuHashes[row];
+            titleCodes[at] = source.titleCodes[row];
+        }
+
+        private int next(long id) {
+            if (size > 0 && id <= ids[size - 1]) {
+                throw new IllegalArgumentException("Rows have to be added in ascending id order, got " + id + " after " + ids[size - 1]);
+            }
+            if (size == ids.length) {
+                int capacity = ids.length + (ids.length >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+                skuCodes = Arrays.copyOf(skuCodes, capacity);
+                skuHashes = Arrays.copyOf(skuHashes, capacity);
+                titleCodes = Arrays.copyOf(titleCodes, capacity);
+            }
+            ids[size] = id;
+            return size++;
+        }
+
+        private int encode(String value) {
+            if (value == null) return NO_STRING;
+            return codes.computeIfAbsent(value, dictionary::add);
+        }
+    }
+
+//    Append-only UTF-8 string pool: string i is bytes[offsets[i] .. offsets[i + 1])
+    private static final class Dictionary {
+        private byte[] bytes;
+        private int[] offsets;
+        private int count;
+
+        private Dictionary(int expectedStrings, int expectedBytes) {
+            this(new byte[Math.max(64, expectedBytes)], new int[Math.max(16, expectedStrings + 1)], 0);
+        }
+
+        private Dictionary(byte[] bytes, int[] offsets, int count) {
+            this.bytes = bytes;
+            this.offsets = offsets;
+            this.count = count;
+        }
+
+        private String get(int code) {
+            return code == NO_STRING ? null
+                    : new String(bytes, offsets[code], offsets[code + 1] - offsets[code], StandardCharsets.UTF_8);
+        }
+
+        private int add(String value) {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            int end = offsets[count];
+            if (end + encoded.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(end + encoded.length, bytes.length + (bytes.length >> 1)));
+            }
+            if (count + 2 > offsets.length) offsets = Arrays.copyOf(offsets, offsets.length + (offsets.length >> 1) + 2);
+            System.arraycopy(encoded, 0, bytes, end, encoded.length);
+            offsets[count + 1] = end + encoded.length;
+            return count++;
+        }
+
+//        Writable copy with room for more strings, the original stays untouched for its readers
+        private Dictionary copy(int extraStrings, int extraBytes) {
+            int used = offsets[count];
+            return new Dictionary(Arrays.copyOf(bytes, used + Math.max(64, extraBytes)),
+                    Arrays.copyOf(offsets, count + 1 + Math.max(16, extraStrings)), count);
+        }
+
+        private Dictionary trimmed() {
+            return new Dictionary(Arrays.copyOf(bytes, offsets[count]), Arrays.copyOf(offsets, count + 1), count);
+        }
+    }
+}
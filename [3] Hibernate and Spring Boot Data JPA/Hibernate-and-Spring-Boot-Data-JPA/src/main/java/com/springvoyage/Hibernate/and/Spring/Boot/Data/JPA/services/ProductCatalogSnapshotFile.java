@@ -0,0 +1,128 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/*
+ProductCatalogSnapshot on disk for warm restarts, written and read through memory-mapped buffers.
+Layout (little endian): 64 byte header, then the snapshot's binary form (ProductCatalogSnapshot.writeTo).
+Header: magic, format version, snapshot version, watermark (updated_at up to which the rows are complete, as UTC
+seconds + nanos), payload length, the CRC32 of the payload and the TableFingerprint of the rows in the snapshot.
+A missing, truncated, foreign or corrupt file is not an error: read() returns empty and the catalog is built from
+the DB as usual. Writes go to a temp file that replaces the old one once it is complete.
+*/
+@Slf4j
+public class ProductCatalogSnapshotFile {
+
+    public record Contents(ProductCatalogSnapshot snapshot, LocalDateTime watermark, TableFingerprint fingerprint) {}
+
+/*  Highest id and newest updated_at of the rows a snapshot was built from. A table that merely moved on since the
+    dump has both at least as high. Lower ones mean the table was recreated (ddl-auto=create + data.sql, a restored
+    backup...) or its newest rows deleted: the file no longer describes it and must not be used.*/
+    public record TableFingerprint(long maxId, LocalDateTime maxUpdatedAt) {
+
+        public boolean isContinuedBy(TableFingerprint table) {
+            if (table.maxId() < maxId) return false;
+            if (maxUpdatedAt == null) return true;
+            return table.maxUpdatedAt() != null && !table.maxUpdatedAt().isBefore(maxUpdatedAt);
+        }
+    }
+
+    private static final int MAGIC = 0x50435346; // "PCSF"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 64;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final Path path;
+
+    public ProductCatalogSnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public void write(ProductCatalogSnapshot snapshot, LocalDateTime watermark, TableFingerprint fingerprint) throws IOException {
+        long payloadBytes = snapshot.serializedSize();
+        if (HEADER_BYTES + payloadBytes > Integer.MAX_VALUE) {
+            throw new IOException("Catalog snapshot of " + payloadBytes + " bytes does not fit into one mapped file");
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + payloadBytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.position(HEADER_BYTES);
+            snapshot.writeTo(buffer);
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(HEADER_BYTES, (int) payloadBytes));
+            buffer.position(0);
+            buffer.putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(snapshot.version())
+                    .putLong(watermark.toEpochSecond(ZoneOffset.UTC))
+                    .putInt(watermark.getNano())
+                    .putInt(fingerprint.maxUpdatedAt() == null ? 0 : fingerprint.maxUpdatedAt().getNano())
+                    .putLong(payloadBytes)
+                    .putLong(crc.getValue())
+                    .putLong(fingerprint.maxId())
+                    .putLong(fingerprint.maxUpdatedAt() == null ? NO_TIMESTAMP : fingerprint.maxUpdatedAt().toEpochSecond(ZoneOffset.UTC));
+            buffer.force();
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public Optional<Contents> read() throws IOException {
+        if (!Files.isRegularFile(path)) return Optional.empty();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileBytes = channel.size();
+            if (fileBytes < HEADER_BYTES || fileBytes > Integer.MAX_VALUE) return invalid("unexpected size " + fileBytes);
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileBytes).order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC) return invalid("not a catalog snapshot");
+            int formatVersion = buffer.getInt();
+            if (formatVersion != FORMAT_VERSION) return invalid("format version " + formatVersion);
+            long snapshotVersion = buffer.getLong();
+            LocalDateTime watermark = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            int maxUpdatedAtNanos = buffer.getInt();
+            long payloadBytes = buffer.getLong();
+            long expectedCrc = buffer.getLong();
+            long maxId = buffer.getLong();
+            long maxUpdatedAtSeconds = buffer.getLong();
+            TableFingerprint fingerprint = new TableFingerprint(maxId, maxUpdatedAtSeconds == NO_TIMESTAMP ? null
+                    : LocalDateTime.ofEpochSecond(maxUpdatedAtSeconds, maxUpdatedAtNanos, ZoneOffset.UTC));
+            if (payloadBytes != fileBytes - HEADER_BYTES) return invalid("truncated");
+
+            ByteBuffer payload = buffer.slice(HEADER_BYTES, (int) payloadBytes).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            if (crc.getValue() != expectedCrc) return invalid("checksum mismatch");
+            return Optional.of(new Contents(ProductCatalogSnapshot.readFrom(payload, snapshotVersion), watermark, fingerprint));
+        }
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private Optional<Contents> invalid(String reason) {
+        log.warn("Ignoring catalog snapshot file {}: {}", path, reason);
+        return Optional.empty();
+    }
+}
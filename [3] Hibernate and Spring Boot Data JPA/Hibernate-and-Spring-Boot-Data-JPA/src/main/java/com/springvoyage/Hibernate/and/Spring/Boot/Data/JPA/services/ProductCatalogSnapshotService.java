@@ -0,0 +1,194 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/*
+Keeps a ProductCatalogSnapshot of product_table up to date (products.catalog-snapshot.enabled=true, see CatalogSnapshotConfig).
+- Built from one streamed SELECT once the application is ready, the rows never become entities.
+- Every refresh-interval the rows with updated_at >= watermark - overlap are patched in. The overlap covers
+  transactions that stamped updated_at before the last refresh but committed after it, re-applying a row is harmless.
+- Deletes and rows without updated_at (plain SQL inserts) don't show up that way: when the row count of the table
+  and of the patched snapshot differ, or too much of the dictionary is garbage, the snapshot is rebuilt instead.
+Readers call current() and work on an immutable snapshot, refreshes only swap the volatile reference.
+Warm restarts (products.catalog-snapshot.file set): the snapshot is dumped to a ProductCatalogSnapshotFile every
+dump-interval-ms and on shutdown. At startup that file is mapped back in and only the rows changed since its
+watermark are read from the DB, instead of the whole table. The file is only used if product_table still continues
+the table it was dumped from (TableFingerprint): after ddl-auto=create recreated it, or any other reset, the rows
+would not show up as changed and the previous run's prices and quantities would be served as current.
+*/
+@Slf4j
+public class ProductCatalogSnapshotService {
+
+    private static final String COLUMNS = "SELECT id, sku, title, price, quantity, updated_at FROM product_table";
+    private static final String ALL_PRODUCTS_SQL = COLUMNS + " ORDER BY id";
+    private static final String CHANGED_PRODUCTS_SQL = COLUMNS + " WHERE updated_at >= ? ORDER BY id";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM product_table";
+    private static final String FINGERPRINT_SQL = "SELECT MAX(id), MAX(updated_at) FROM product_table";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration overlap;
+    private final double maxGarbageRatio;
+    private final Optional<ProductCatalogSnapshotFile> snapshotFile;
+    private final Object dumpLock = new Object();
+    private long dumpedVersion = -1; // guarded by dumpLock
+
+    private volatile ProductCatalogSnapshot snapshot = ProductCatalogSnapshot.empty();
+    private volatile LocalDateTime watermark; // newest updated_at seen, null until the first build
+    private volatile ProductCatalogSnapshotFile.TableFingerprint fingerprint; // of the rows in snapshot, null with watermark
+
+    public ProductCatalogSnapshotService(JdbcTemplate jdbcTemplate, Duration overlap, double maxGarbageRatio,
+                                         Optional<ProductCatalogSnapshotFile> snapshotFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.overlap = overlap;
+        this.maxGarbageRatio = maxGarbageRatio;
+        this.snapshotFile = snapshotFile;
+    }
+
+    public ProductCatalogSnapshot current() {
+        return snapshot;
+    }
+
+    public LocalDateTime watermark() {
+        return watermark;
+    }
+
+//    From the snapshot file if there is a usable one (+ the rows changed since), otherwise from the whole table
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        Optional<ProductCatalogSnapshotFile.Contents> contents = readSnapshotFile();
+        if (contents.isEmpty()) {
+            rebuild();
+            return;
+        }
+        ProductCatalogSnapshotFile.TableFingerprint table = jdbcTemplate.queryForObject(FINGERPRINT_SQL, (resultSet, row) ->
+                new ProductCatalogSnapshotFile.TableFingerprint(resultSet.getLong(1), resultSet.getObject(2, LocalDateTime.class)));
+        if (table == null || !contents.get().fingerprint().isContinuedBy(table)) {
+            log.warn("Catalog snapshot {} was dumped from a different product_table ({} vs now {}), building it from the database",
+                    snapshotFile.get().path(), contents.get().fingerprint(), table);
+            rebuild();
+            return;
+        }
+        snapshot = contents.get().snapshot();
+        watermark = contents.get().watermark();
+        fingerprint = contents.get().fingerprint();
+        dumpedVersion(snapshot.version());
+        refresh();
+    }
+
+    public synchronized void rebuild() {
+        Integer expectedRows = jdbcTemplate.queryForObject(COUNT_SQL, Integer.class);
+        ProductCatalogSnapshot.Builder builder = ProductCatalogSnapshot.builder(expectedRows == null ? 0 : expectedRows);
+        LocalDateTime[] newest = {null};
+        jdbcTemplate.query(ALL_PRODUCTS_SQL, resultSet -> {
+            builder.add(toRow(resultSet));
+            newest[0] = newer(newest[0], resultSet.getObject("updated_at", LocalDateTime.class));
+        });
+        snapshot = builder.build(snapshot.version() + 1);
+        watermark = newest[0] == null ? LocalDateTime.now() : newest[0];
+        fingerprint = fingerprintOf(snapshot, newest[0]);
+    }
+
+    @Scheduled(fixedDelayString = "${products.catalog-snapshot.refresh-interval-ms:5000}",
+            initialDelayString = "${products.catalog-snapshot.refresh-interval-ms:5000}")
+    public synchronized void refresh() {
+        if (watermark == null) {
+            rebuild();
+            return;
+        }
+        List<ProductCatalogSnapshot.Row> changed = new ArrayList<>();
+        LocalDateTime[] newest = {null};
+        jdbcTemplate.query(CHANGED_PRODUCTS_SQL, resultSet -> {
+            changed.add(toRow(resultSet));
+            newest[0] = newer(newest[0], resultSet.getObject("updated_at", LocalDateTime.class));
+        }, Timestamp.valueOf(watermark.minus(overlap)));
+
+        ProductCatalogSnapshot current = snapshot;
+        ProductCatalogSnapshot patched = changed.isEmpty() ? current : current.patch(changed, List.of(), current.version() + 1);
+        Integer tableRows = jdbcTemplate.queryForObject(COUNT_SQL, Integer.class);
+        if (tableRows == null || tableRows != patched.size() || patched.garbageRatio() > maxGarbageRatio) {
+            rebuild();
+            return;
+        }
+        snapshot = patched;
+        watermark = newer(watermark, newest[0]);
+        fingerprint = fingerprintOf(patched, newer(fingerprint.maxUpdatedAt(), newest[0]));
+    }
+
+//    Only writes when the snapshot changed since the last dump. The file is replaced as a whole, readers of the old
+//    snapshot are not affected.
+    @Scheduled(fixedDelayString = "${products.catalog-snapshot.dump-interval-ms:60000}",
+            initialDelayString = "${products.catalog-snapshot.dump-interval-ms:60000}")
+    @PreDestroy
+    public void dump() {
+        if (snapshotFile.isEmpty()) return;
+        ProductCatalogSnapshot current;
+        LocalDateTime currentWatermark;
+        ProductCatalogSnapshotFile.TableFingerprint currentFingerprint;
+        synchronized (this) {
+            current = snapshot;
+            currentWatermark = watermark;
+            currentFingerprint = fingerprint;
+        }
+        if (currentWatermark == null) return; // not loaded yet, the file on disk is still the best we have
+        synchronized (dumpLock) {
+            if (current.version() == dumpedVersion) return;
+            try {
+                snapshotFile.get().write(current, currentWatermark, currentFingerprint);
+                dumpedVersion = current.version();
+            } catch (IOException e) {
+                // e.g. on Windows the old file can't be replaced while a mapping of it is still alive, next dump retries
+                log.warn("Could not write the catalog snapshot to {}", snapshotFile.get().path(), e);
+            }
+        }
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private Optional<ProductCatalogSnapshotFile.Contents> readSnapshotFile() {
+        if (snapshotFile.isEmpty()) return Optional.empty();
+        try {
+            return snapshotFile.get().read();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read the catalog snapshot from {}, building it from the database", snapshotFile.get().path(), e);
+            return Optional.empty();
+        }
+    }
+
+    private void dumpedVersion(long version) {
+        synchronized (dumpLock) {
+            dumpedVersion = version;
+        }
+    }
+
+    private static ProductCatalogSnapshot.Row toRow(ResultSet resultSet) throws SQLException {
+        return new ProductCatalogSnapshot.Row(resultSet.getLong("id"), resultSet.getString("sku"), resultSet.getString("title"),
+                resultSet.getBigDecimal("price"), resultSet.getObject("quantity", Integer.class));
+    }
+
+    private static ProductCatalogSnapshotFile.TableFingerprint fingerprintOf(ProductCatalogSnapshot snapshot, LocalDateTime maxUpdatedAt) {
+        long maxId = snapshot.size() == 0 ? 0 : snapshot.id(snapshot.size() - 1); // ids are ascending
+        return new ProductCatalogSnapshotFile.TableFingerprint(maxId, maxUpdatedAt);
+    }
+
+    private static LocalDateTime newer(LocalDateTime current, LocalDateTime candidate) {
+        return candidate != null && (current == null || candidate.isAfter(current)) ? candidate : current;
+    }
+}
@@ -0,0 +1,274 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.IngestReportDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductFileFormat;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductRowDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.entities.IngestCheckpoint;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.repositories.IngestCheckpointRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+Streaming catalog import into product_table.
+
+- A reader thread parses the file line by line into chunks of batch-size rows and hands them over through a small
+  bounded queue -> when the DB is slower than the parser the reader blocks (backpressure) instead of buffering the
+  whole file in memory.
+- The calling thread writes each chunk as one JDBC batch of INSERT ... ON DUPLICATE KEY UPDATE (with
+  rewriteBatchedStatements the MySQL driver sends it as multi-row INSERTs). Product uses IDENTITY ids, which stops
+  Hibernate from batching inserts at all, so this path bypasses the persistence context completely.
+- The chunk and the job's checkpoint are committed in the same transaction, so re-running a job with the same name
+  skips every line that is already in the table.
+*/
+@Service
+public class ProductIngestService {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO product_table (sku, title, price, quantity, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE title = VALUES(title), price = VALUES(price),
+                                    quantity = VALUES(quantity), updated_at = VALUES(updated_at),
+                                    version = version + 1
+            """;
+    private static final String TITLE_OWNERS_SQL = "SELECT sku, title, price FROM product_table WHERE title IN (:titles)";
+
+    private record Chunk(List<ProductRowDTO> rows, long lastLine, long rejected) {}
+    private static final Chunk END_OF_FILE = new Chunk(List.of(), -1, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IngestCheckpointRepository ingestCheckpointRepository;
+    private final ProductSearchService productSearchService;
+    private final ObjectReader productRowReader;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final int maxReportedErrors;
+
+    public ProductIngestService(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                TransactionTemplate transactionTemplate, IngestCheckpointRepository ingestCheckpointRepository,
+                                ProductSearchService productSearchService, ObjectMapper objectMapper,
+                                @Value("${products.ingest.batch-size:1000}") int batchSize,
+                                @Value("${products.ingest.queue-capacity:8}") int queueCapacity,
+                                @Value("${products.ingest.max-reported-errors:100}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.ingestCheckpointRepository = ingestCheckpointRepository;
+        this.productSearchService = productSearchService;
+        this.productRowReader = objectMapper.readerFor(ProductRowDTO.class);
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public IngestReportDTO ingest(String jobName, ProductFileFormat format, InputStream inputStream) {
+        long startedAt = System.nanoTime();
+        IngestCheckpoint checkpoint = ingestCheckpointRepository.findById(jobName)
+                .orElseGet(() -> IngestCheckpoint.builder().jobName(jobName).build());
+        long resumeAfterLine = checkpoint.getLastCommittedLine();
+        Progress progress = new Progress(maxReportedErrors);
+
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<RuntimeException> readFailure = new AtomicReference<>();
+        ProductRowParser parser = new ProductRowParser(format, productRowReader);
+        Thread reader = Thread.ofPlatform()
+                .name("product-ingest-" + jobName)
+                .start(() -> readChunks(inputStream, parser, resumeAfterLine, queue, progress, readFailure));
+
+        try {
+            for (Chunk chunk = queue.take(); chunk != END_OF_FILE; chunk = queue.take()) {
+                Chunk current = chunk;
+                List<String> written = transactionTemplate.execute(status -> writeChunk(current, checkpoint, progress));
+                productSearchService.reindexSkus(written); // only once committed, a rolled back batch stays out of the search
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ingestion of job " + jobName + " was interrupted", e);
+        } finally {
+            reader.interrupt(); // unblocks the reader if we stopped early because a batch failed
+        }
+        if (readFailure.get() != null) throw readFailure.get();
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        return IngestReportDTO.builder()
+                .jobName(jobName)
+                .format(format)
+                .resumedFromLine(resumeAfterLine)
+                .linesRead(progress.linesRead.get())
+                .rowsWritten(progress.rowsWritten.get())
+                .rowsRejected(progress.rowsRejected.get())
+                .batches(progress.batches.get())
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(progress.rowsWritten.get() * 1000.0 / elapsedMillis)
+                .errors(progress.errors())
+                .build();
+    }
+
+//    Forget the checkpoint, the next run of this job starts from the first line again
+    public void resetJob(String jobName) {
+        if (ingestCheckpointRepository.existsById(jobName)) ingestCheckpointRepository.deleteById(jobName);
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+//    Runs on the reader thread. Invalid lines are rejected here, only valid rows travel to the writer.
+    private void readChunks(InputStream inputStream, ProductRowParser parser, long resumeAfterLine,
+                            BlockingQueue<Chunk> queue, Progress progress, AtomicReference<RuntimeException> readFailure) {
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 1 << 16)) {
+            long lineNumber = 0;
+            if (parser.hasHeader()) {
+                String header = lines.readLine();
+                if (header == null) return;
+                parser.readHeader(header);
+                lineNumber++;
+            }
+
+            List<ProductRowDTO> rows = new ArrayList<>(batchSize);
+            long rejected = 0;
+            long lastLine = resumeAfterLine;
+            for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+                if (++lineNumber <= resumeAfterLine || line.isBlank()) continue; // already committed by an earlier run
+                progress.linesRead.incrementAndGet();
+                lastLine = lineNumber;
+                try {
+                    rows.add(parser.parse(lineNumber, line));
+                } catch (IllegalArgumentException e) {
+                    progress.reject(lineNumber, e.getMessage());
+                    rejected++;
+                }
+                if (rows.size() == batchSize) {
+                    queue.put(new Chunk(rows, lastLine, rejected));
+                    rows = new ArrayList<>(batchSize);
+                    rejected = 0;
+                }
+            }
+            if (!rows.isEmpty() || rejected > 0) queue.put(new Chunk(rows, lastLine, rejected));
+        } catch (IOException e) {
+            readFailure.set(new UncheckedIOException("Could not read the product file", e));
+        } catch (RuntimeException e) {
+            readFailure.set(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                queue.put(END_OF_FILE);
+            } catch (InterruptedException e) {
+                // the writer gave up (failed batch), nobody is waiting for END_OF_FILE anymore
+            }
+        }
+    }
+
+//    Runs inside the transaction of the chunk, returns the skus it wrote
+    private List<String> writeChunk(Chunk chunk, IngestCheckpoint checkpoint, Progress progress) {
+        // Same sku more than once in a batch -> the last line wins, exactly like it does across batches
+        // (keys are lower-cased because MySQL compares the unique columns case-insensitively)
+        Map<String, ProductRowDTO> rowsBySku = new LinkedHashMap<>();
+        chunk.rows().forEach(row -> rowsBySku.put(row.getSku().toLowerCase(Locale.ROOT), row));
+
+        // unique_title: a (title, price) pair may only belong to one sku, otherwise the upsert would
+        // overwrite that other product instead of failing
+        Map<String, String> titleOwners = loadTitleOwners(rowsBySku);
+        List<ProductRowDTO> accepted = new ArrayList<>(rowsBySku.size());
+        long rejected = chunk.rejected();
+        for (Map.Entry<String, ProductRowDTO> entry : rowsBySku.entrySet()) {
+            ProductRowDTO row = entry.getValue();
+            String owner = titleOwners.putIfAbsent(titleKey(row.getTitle(), row.getPrice().toPlainString()), entry.getKey());
+            if (owner != null && !owner.equals(entry.getKey())) {
+                progress.reject(row.getLineNumber(), "unique_title: title and price already belong to sku " + owner);
+                rejected++;
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, accepted, accepted.size(), (ps, row) -> {
+            ps.setString(1, row.getSku());
+            ps.setString(2, row.getTitle());
+            ps.setBigDecimal(3, row.getPrice());
+            ps.setInt(4, row.getQuantity());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+
+        long written = chunk.rows().size() - (rejected - chunk.rejected());
+        checkpoint.setLastCommittedLine(chunk.lastLine());
+        checkpoint.setRowsWritten(checkpoint.getRowsWritten() + written);
+        checkpoint.setRowsRejected(checkpoint.getRowsRejected() + rejected);
+        ingestCheckpointRepository.save(checkpoint);
+
+        progress.rowsWritten.addAndGet(written);
+        progress.batches.incrementAndGet();
+        return accepted.stream().map(ProductRowDTO::getSku).toList();
+    }
+
+//    (title, price) -> sku for the products already in the table, skipping the ones this batch rewrites anyway
+    private Map<String, String> loadTitleOwners(Map<String, ProductRowDTO> rowsBySku) {
+        Map<String, String> titleOwners = new HashMap<>();
+        if (rowsBySku.isEmpty()) return titleOwners;
+        Set<String> titles = new HashSet<>();
+        rowsBySku.values().forEach(row -> titles.add(row.getTitle()));
+
+        namedParameterJdbcTemplate.query(TITLE_OWNERS_SQL, Map.of("titles", titles), resultSet -> {
+            String sku = resultSet.getString("sku").toLowerCase(Locale.ROOT);
+            if (!rowsBySku.containsKey(sku)) {
+                titleOwners.put(titleKey(resultSet.getString("title"), resultSet.getBigDecimal("price").toPlainString()), sku);
+            }
+        });
+        return titleOwners;
+    }
+
+    private static String titleKey(String title, String price) {
+        return title.toLowerCase(Locale.ROOT) + '\u0000' + price;
+    }
+
+//    Counters shared by the reader and the writer thread
+    private static final class Progress {
+        private final AtomicLong linesRead = new AtomicLong();
+        private final AtomicLong rowsWritten = new AtomicLong();
+        private final AtomicLong rowsRejected = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final List<String> errors = new ArrayList<>();
+        private final int maxErrors;
+
+        private Progress(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void reject(long lineNumber, String reason) {
+            rowsRejected.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < maxErrors) errors.add("line " + lineNumber + ": " + reason);
+            }
+        }
+
+        private List<String> errors() {
+            synchronized (errors) {
+                return List.copyOf(errors);
+            }
+        }
+    }
+}
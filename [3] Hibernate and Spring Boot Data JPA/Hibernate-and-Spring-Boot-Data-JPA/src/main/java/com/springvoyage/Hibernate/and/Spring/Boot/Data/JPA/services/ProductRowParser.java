@@ -0,0 +1,140 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductFileFormat;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductRowDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/*
+Turns one line of a catalog file into a validated ProductRowDTO.
+One parser per ingestion job (the CSV header decides the column order), invalid lines throw IllegalArgumentException
+so the caller can reject just that line and carry on.
+Quoted CSV fields may contain commas and "" escapes, but not line breaks.
+*/
+class ProductRowParser {
+
+    private static final int MAX_TEXT_LENGTH = 255; // varchar(255) of sku / title
+
+    private final ProductFileFormat format;
+    private final ObjectReader jsonReader;
+    private int skuColumn = -1, titleColumn = -1, priceColumn = -1, quantityColumn = -1;
+
+    ProductRowParser(ProductFileFormat format, ObjectReader jsonReader) {
+        this.format = format;
+        this.jsonReader = jsonReader;
+    }
+
+    boolean hasHeader() {
+        return format == ProductFileFormat.CSV;
+    }
+
+    void readHeader(String line) {
+        List<String> columns = splitCsv(line);
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "sku" -> skuColumn = i;
+                case "title" -> titleColumn = i;
+                case "price" -> priceColumn = i;
+                case "quantity" -> quantityColumn = i;
+                default -> { } // extra columns are ignored
+            }
+        }
+        if (skuColumn < 0 || titleColumn < 0 || priceColumn < 0 || quantityColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain sku, title, price and quantity");
+        }
+    }
+
+    ProductRowDTO parse(long lineNumber, String line) {
+        ProductRowDTO row = format == ProductFileFormat.CSV ? parseCsv(line) : parseJson(line);
+        row.setLineNumber(lineNumber);
+        return validate(row);
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private ProductRowDTO parseCsv(String line) {
+        List<String> values = splitCsv(line);
+        int maxColumn = Math.max(Math.max(skuColumn, titleColumn), Math.max(priceColumn, quantityColumn));
+        if (values.size() <= maxColumn) {
+            throw new IllegalArgumentException("expected at least " + (maxColumn + 1) + " columns, found " + values.size());
+        }
+        try {
+            return ProductRowDTO.builder()
+                    .sku(values.get(skuColumn))
+                    .title(values.get(titleColumn))
+                    .price(new BigDecimal(values.get(priceColumn).trim()))
+                    .quantity(Integer.valueOf(values.get(quantityColumn).trim()))
+                    .build();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("price and quantity must be numbers");
+        }
+    }
+
+    private ProductRowDTO parseJson(String line) {
+        try {
+            return jsonReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+//    Checked here so the batch upsert itself never fails on a bad row
+    private ProductRowDTO validate(ProductRowDTO row) {
+        row.setSku(requireText("sku", row.getSku()));
+        row.setTitle(requireText("title", row.getTitle()));
+        if (row.getPrice() == null || row.getPrice().signum() < 0) {
+            throw new IllegalArgumentException("price must be >= 0");
+        }
+        if (row.getQuantity() == null || row.getQuantity() < 0) {
+            throw new IllegalArgumentException("quantity must be >= 0");
+        }
+        // Same scale as the price column, so unique_title (title, price) is compared like MySQL compares it
+        row.setPrice(row.getPrice().setScale(2, RoundingMode.HALF_UP));
+        return row;
+    }
+
+    private String requireText(String field, String value) {
+        String trimmed = value == null ? "" : value.trim();
+        if (trimmed.isEmpty()) throw new IllegalArgumentException(field + " cannot be blank");
+        if (trimmed.length() > MAX_TEXT_LENGTH) throw new IllegalArgumentException(field + " is longer than " + MAX_TEXT_LENGTH);
+        return trimmed;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>(4);
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    current.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"'); // "" inside quotes is an escaped quote
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("unterminated quoted field");
+        values.add(current.toString());
+        return values;
+    }
+}
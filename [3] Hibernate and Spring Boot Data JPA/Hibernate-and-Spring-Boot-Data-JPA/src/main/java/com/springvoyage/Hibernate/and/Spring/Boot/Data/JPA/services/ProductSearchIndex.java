@@ -0,0 +1,195 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+In-memory search structures over product_table, so catalog searches never run LIKE '%term%' scans.
+- Inverted index: title token -> ids of the products whose title contains it. The dictionary is sorted, so the last
+  word of a query also matches as a prefix ("pep" -> pepsi) for search-as-you-type.
+- Price index: products sorted by (price, id), a price range is a sub-set of it.
+A query only touches the postings of its own tokens and the requested price range, never the whole catalog.
+Ranking: every query token adds the idf of the title token it matched (rare words weigh more, prefix matches half),
+divided by sqrt(number of title tokens) so "Pepsi" ranks above "Pepsi Wild Cherry" for "pepsi".
+Plain data structure without Spring or JPA, ProductSearchService loads it and keeps it in sync with the table.
+*/
+public class ProductSearchIndex {
+
+    public record Document(long id, String sku, String title, BigDecimal price, String[] tokens) {}
+
+    public record Hit(Document document, double score) {}
+
+    public record Page(long totalHits, List<Hit> hits) {}
+
+//    A product without a price sorts before every price and only shows up in searches without a price bound
+    private static final Comparator<Document> BY_PRICE = Comparator.comparing(Document::price, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingLong(Document::id);
+    private static final Comparator<Hit> BY_RELEVANCE = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(Hit::document, BY_PRICE);
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    private final NavigableSet<Document> byPrice = new TreeSet<>(BY_PRICE);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+//    Adds the product, or replaces the indexed version of it (title and price may have changed)
+    public void put(long id, String sku, String title, BigDecimal price) {
+        Document document = new Document(id, sku, title, price, tokenize(title));
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            documents.put(id, document);
+            for (String token : document.tokens()) postings.computeIfAbsent(token, t -> new HashSet<>()).add(id);
+            byPrice.add(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            byPrice.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+    query blank -> every product in the price range, cheapest first.
+    Otherwise -> products with at least one query token in their title, best match first (cheapest first on a tie).
+    minPrice / maxPrice are inclusive, null means unbounded.
+    */
+    public Page search(String query, BigDecimal minPrice, BigDecimal maxPrice, int page, int size) {
+        String[] queryTokens = tokenize(query);
+        lock.readLock().lock();
+        try {
+            return queryTokens.length == 0
+                    ? searchByPrice(minPrice, maxPrice, page, size)
+                    : searchByTitle(queryTokens, minPrice, maxPrice, page, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+//    Lower-cased words of a title, each token at most once
+    public static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) return new String[0];
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens.toArray(String[]::new);
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private Page searchByPrice(BigDecimal minPrice, BigDecimal maxPrice, int page, int size) {
+        Collection<Document> range = priceRange(minPrice, maxPrice);
+        long offset = (long) page * size;
+        List<Hit> hits = new ArrayList<>(size);
+        long total = 0;
+        for (Document document : range) {
+            if (total >= offset && hits.size() < size) hits.add(new Hit(document, 0));
+            total++;
+        }
+        return new Page(total, hits);
+    }
+
+    private Page searchByTitle(String[] queryTokens, BigDecimal minPrice, BigDecimal maxPrice, int page, int size) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (int i = 0; i < queryTokens.length; i++) {
+            String queryToken = queryTokens[i];
+            Map<Long, Double> tokenScores = new HashMap<>();
+            score(postings.get(queryToken), 1.0, tokenScores);
+            if (i == queryTokens.length - 1) {
+                // search-as-you-type: the last word may not be complete yet
+                int expansions = 0;
+                for (Set<Long> ids : postings.subMap(queryToken, false, queryToken + Character.MAX_VALUE, false).values()) {
+                    if (++expansions > MAX_PREFIX_EXPANSIONS) break;
+                    score(ids, 0.5, tokenScores);
+                }
+            }
+            tokenScores.forEach((id, score) -> scores.merge(id, score, Double::sum));
+        }
+
+        // Only the hits up to the requested page are kept sorted, in a heap whose head is the worst of them
+        int keep = (int) Math.min((long) (page + 1) * size, Integer.MAX_VALUE);
+        PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(keep, Math.max(1, scores.size())), BY_RELEVANCE.reversed());
+        long total = 0;
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            Document document = documents.get(entry.getKey());
+            if (!inRange(document.price(), minPrice, maxPrice)) continue;
+            total++;
+            best.add(new Hit(document, entry.getValue() / Math.sqrt(document.tokens().length)));
+            if (best.size() > keep) best.poll();
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(BY_RELEVANCE);
+        int from = (int) Math.min((long) page * size, ranked.size());
+        return new Page(total, List.copyOf(ranked.subList(from, ranked.size())));
+    }
+
+//    A product matching several forms of the same query token (pepsi and pepsico for "pep") counts its best one
+    private void score(Set<Long> ids, double weight, Map<Long, Double> tokenScores) {
+        if (ids == null || ids.isEmpty()) return;
+        double idf = weight * Math.log(1 + (double) documents.size() / ids.size());
+        for (Long id : ids) tokenScores.merge(id, idf, Math::max);
+    }
+
+    private Collection<Document> priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (byPrice.isEmpty()) return byPrice;
+        // ids are >= 0 (IDENTITY), so (price, -1) / (price, MAX_VALUE) sit right before / after every product of that price
+        Document from = minPrice == null ? byPrice.first() : bound(minPrice, -1);
+        Document to = maxPrice == null ? byPrice.last() : bound(maxPrice, Long.MAX_VALUE);
+        if (BY_PRICE.compare(from, to) > 0) return List.of();
+        return byPrice.subSet(from, true, to, true);
+    }
+
+    private static Document bound(BigDecimal price, long id) {
+        return new Document(id, null, null, price, null);
+    }
+
+    private static boolean inRange(BigDecimal price, BigDecimal minPrice, BigDecimal maxPrice) {
+        if (price == null) return minPrice == null && maxPrice == null;
+        return (minPrice == null || price.compareTo(minPrice) >= 0) && (maxPrice == null || price.compareTo(maxPrice) <= 0);
+    }
+
+//    Caller holds the write lock
+    private void removeDocument(long id) {
+        Document document = documents.remove(id);
+        if (document == null) return;
+        byPrice.remove(document);
+        for (String token : document.tokens()) {
+            Set<Long> ids = postings.get(token);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) postings.remove(token);
+        }
+    }
+}
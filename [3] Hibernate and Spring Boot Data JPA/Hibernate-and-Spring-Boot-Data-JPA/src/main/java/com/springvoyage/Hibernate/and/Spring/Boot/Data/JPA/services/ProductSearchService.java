@@ -0,0 +1,94 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductSearchHitDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductSearchResultDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.entities.Product;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+
+/*
+Keeps ProductSearchIndex in sync with product_table and turns its hits into DTOs.
+- Built once the application is ready (data.sql has run by then) with a single streamed SELECT, no entities involved.
+- ProductService pushes its creates / updates / deletes, ProductIngestService re-reads the skus of every committed batch.
+- Stock changes don't touch title or price, so StockService never has to update it.
+Like ProductSkuIndex, rows changed outside the application are only picked up by the next rebuild().
+*/
+@Service
+public class ProductSearchService {
+
+    private static final String ALL_PRODUCTS_SQL = "SELECT id, sku, title, price FROM product_table";
+    private static final String PRODUCTS_BY_SKU_SQL = "SELECT id, sku, title, price FROM product_table WHERE sku IN (:skus)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final ProductSearchIndex productSearchIndex = new ProductSearchIndex();
+
+    public ProductSearchService(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public ProductSearchResultDTO search(String query, BigDecimal minPrice, BigDecimal maxPrice, int page, int size) {
+        ProductSearchIndex.Page result = productSearchIndex.search(query, minPrice, maxPrice, page, size);
+        return ProductSearchResultDTO.builder()
+                .query(query)
+                .page(page)
+                .size(size)
+                .totalHits(result.totalHits())
+                .hits(result.hits().stream().map(this::toDTO).toList())
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        productSearchIndex.clear();
+        jdbcTemplate.query(ALL_PRODUCTS_SQL, this::indexRow);
+    }
+
+    public void index(Product product) {
+        productSearchIndex.put(product.getId(), product.getSku(), product.getTitle(), product.getPrice());
+    }
+
+    public void remove(Long id) {
+        productSearchIndex.remove(id);
+    }
+
+//    After an ingestion batch: the upsert doesn't return ids, so the batch's rows are read back by sku
+    public void reindexSkus(Collection<String> skus) {
+        if (skus.isEmpty()) return;
+        namedParameterJdbcTemplate.query(PRODUCTS_BY_SKU_SQL, Map.of("skus", skus), this::indexRow);
+    }
+
+    public int size() {
+        return productSearchIndex.size();
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private void indexRow(ResultSet resultSet) throws SQLException {
+        productSearchIndex.put(resultSet.getLong("id"), resultSet.getString("sku"),
+                resultSet.getString("title"), resultSet.getBigDecimal("price"));
+    }
+
+    private ProductSearchHitDTO toDTO(ProductSearchIndex.Hit hit) {
+        return ProductSearchHitDTO.builder()
+                .id(hit.document().id())
+                .sku(hit.document().sku())
+                .title(hit.document().title())
+                .price(hit.document().price())
+                .score(hit.score())
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.entities.Product;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.repositories.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class ProductService {
+
+    private final ProductRepository productRepository;
+    private final ProductSkuIndex productSkuIndex;
+    private final ProductSearchService productSearchService;
+
+    @Transactional(readOnly = true)
+    public Optional<ProductDTO> getProductById(Long id) {
+        return productRepository.findById(id).map(this::toDTO);
+    }
+
+//    Known sku -> primary key lookup, unknown sku -> one query on sku_index (and the sku is remembered)
+    @Transactional(readOnly = true)
+    public Optional<ProductDTO> getProductBySku(String sku) {
+        Long id = productSkuIndex.get(sku);
+        if (id != null) {
+            Optional<Product> product = productRepository.findById(id)
+                    .filter(found -> found.getSku().equalsIgnoreCase(sku));
+            if (product.isPresent()) return product.map(this::toDTO);
+            productSkuIndex.remove(sku); // deleted behind our back, ask the DB by sku below
+        }
+        return productRepository.findBySku(sku)
+                .map(this::indexed)
+                .map(this::toDTO);
+    }
+
+    /*
+    Resolves a whole cart in one round trip:
+    every sku known -> WHERE id IN (...), otherwise -> WHERE sku IN (...) for all of them.
+    Products are returned in the order of the requested skus, unknown skus are left out.
+    */
+    @Transactional(readOnly = true)
+    public List<ProductDTO> getProductsBySkus(Collection<String> skus) {
+        Map<String, String> requested = new LinkedHashMap<>(); // lower-cased sku -> sku as requested
+        skus.forEach(sku -> requested.putIfAbsent(sku.toLowerCase(Locale.ROOT), sku));
+
+        List<Long> ids = new ArrayList<>(requested.size());
+        for (String sku : requested.values()) {
+            Long id = productSkuIndex.get(sku);
+            if (id == null) break;
+            ids.add(id);
+        }
+
+        List<Product> products = null;
+        if (ids.size() == requested.size()) {
+            products = productRepository.findAllById(ids);
+            // A missing or different row means an index entry went stale -> fall back to the sku query
+            if (products.size() != ids.size() || products.stream().anyMatch(p -> !requested.containsKey(p.getSku().toLowerCase(Locale.ROOT)))) {
+                products = null;
+            }
+        }
+        if (products == null) {
+            products = productRepository.findAllBySkuIn(requested.values());
+            requested.values().forEach(productSkuIndex::remove);
+            products.forEach(this::indexed);
+        }
+
+        Map<String, Product> productsBySku = new HashMap<>();
+        products.forEach(product -> productsBySku.put(product.getSku().toLowerCase(Locale.ROOT), product));
+        return requested.keySet().stream()
+                .map(productsBySku::get)
+                .filter(Objects::nonNull)
+                .map(this::toDTO)
+                .toList();
+    }
+
+    @Transactional
+    public ProductDTO createNewProduct(ProductDTO productDTO) {
+        Product product = Product.builder()
+                .sku(productDTO.getSku())
+                .title(productDTO.getTitle())
+                .price(productDTO.getPrice())
+                .quantity(productDTO.getQuantity())
+                .build();
+        return toDTO(searchable(indexed(productRepository.save(product))));
+    }
+
+    @Transactional
+    public Optional<ProductDTO> updateProductById(Long id, ProductDTO productDTO) {
+        return productRepository.findById(id).map(product -> {
+            productSkuIndex.remove(product.getSku()); // the sku itself may change
+            product.setSku(productDTO.getSku());
+            product.setTitle(productDTO.getTitle());
+            product.setPrice(productDTO.getPrice());
+            product.setQuantity(productDTO.getQuantity());
+            return toDTO(searchable(indexed(productRepository.saveAndFlush(product))));
+        });
+    }
+
+    @Transactional
+    public boolean deleteProductById(Long id) {
+        Optional<Product> product = productRepository.findById(id);
+        product.ifPresent(found -> {
+            productRepository.delete(found);
+            productSkuIndex.remove(found.getSku());
+            afterCommit(() -> productSearchService.remove(found.getId()));
+        });
+        return product.isPresent();
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private Product indexed(Product product) {
+        productSkuIndex.put(product.getSku(), product.getId());
+        return product;
+    }
+
+    private Product searchable(Product product) {
+        afterCommit(() -> productSearchService.index(product));
+        return product;
+    }
+
+//    The search index only sees committed changes: a rolled back create leaves no phantom hit, a failed delete
+//    (optimistic lock on commit) keeps the product searchable. Same rule as ProductIngestService.reindexSkus
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private ProductDTO toDTO(Product product) {
+        return ProductDTO.builder()
+                .id(product.getId())
+                .sku(product.getSku())
+                .title(product.getTitle())
+                .price(product.getPrice())
+                .quantity(product.getQuantity())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+    }
+}
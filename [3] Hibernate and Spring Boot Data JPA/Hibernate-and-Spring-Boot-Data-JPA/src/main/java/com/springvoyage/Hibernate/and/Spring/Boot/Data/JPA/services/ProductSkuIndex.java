@@ -0,0 +1,55 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+In-memory sku -> id index in front of product_table.
+Once a sku is known its product is loaded by primary key, and a cart whose skus are all known is a single
+WHERE id IN (...) query. Entries are added on reads and kept in sync by ProductService on create/update/delete.
+An entry can only go stale if a row is deleted outside this service, ProductService then falls back to the sku
+query and drops the entry.
+Keys are lower-cased because MySQL compares sku (sku_unique) case-insensitively.
+*/
+@Component
+public class ProductSkuIndex {
+
+    private final Map<String, Long> idsBySku = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public ProductSkuIndex(@Value("${products.sku-index.max-size:100000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Long get(String sku) {
+        return idsBySku.get(key(sku));
+    }
+
+//    Once full, new skus are simply not indexed anymore (they still resolve through sku_index in the DB)
+    public void put(String sku, Long id) {
+        if (idsBySku.size() < maxSize || idsBySku.containsKey(key(sku))) {
+            idsBySku.put(key(sku), id);
+        }
+    }
+
+    public void remove(String sku) {
+        idsBySku.remove(key(sku));
+    }
+
+    public int size() {
+        return idsBySku.size();
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private static String key(String sku) {
+        return sku.toLowerCase(Locale.ROOT);
+    }
+}
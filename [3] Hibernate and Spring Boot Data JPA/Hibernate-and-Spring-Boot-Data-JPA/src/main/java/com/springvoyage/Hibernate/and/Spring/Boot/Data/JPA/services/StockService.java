@@ -0,0 +1,102 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.StockReservationDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.StockReservationStatus;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.StockReservationStrategy;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.entities.Product;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+Stock reservations without read-modify-write races on Product.quantity:
+- flash sale skus are served from the striped in-memory pool of FlashSaleStock
+- ATOMIC: one conditional UPDATE, the database checks and decrements in the same statement
+- OPTIMISTIC: load, check and save the entity, @Version turns a concurrent update into a retry instead of an oversell
+*/
+@Service
+public class StockService {
+
+    private final ProductRepository productRepository;
+    private final FlashSaleStock flashSaleStock;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxOptimisticAttempts;
+
+    public StockService(ProductRepository productRepository, FlashSaleStock flashSaleStock, TransactionTemplate transactionTemplate,
+                        @Value("${products.stock.optimistic.max-attempts:10}") int maxOptimisticAttempts) {
+        this.productRepository = productRepository;
+        this.flashSaleStock = flashSaleStock;
+        this.transactionTemplate = transactionTemplate;
+        this.maxOptimisticAttempts = maxOptimisticAttempts;
+    }
+
+    public StockReservationDTO reserve(String sku, int units, StockReservationStrategy strategy) {
+        if (units <= 0) throw new IllegalArgumentException("units must be > 0");
+
+        Optional<Boolean> flashSaleReservation = flashSaleStock.tryReserve(sku, units);
+        if (flashSaleReservation.isPresent()) {
+            StockReservationStatus status = flashSaleReservation.get() ? StockReservationStatus.RESERVED : StockReservationStatus.INSUFFICIENT_STOCK;
+            return result(sku, units, status, true);
+        }
+
+        StockReservationStatus status = switch (strategy) {
+            case ATOMIC -> reserveAtomically(sku, units);
+            case OPTIMISTIC -> reserveOptimistically(sku, units);
+        };
+        return result(sku, units, status, false);
+    }
+
+    public void startFlashSale(String sku, int leaseSize) {
+        if (!productRepository.existsBySku(sku)) throw new IllegalArgumentException("Unknown sku " + sku);
+        flashSaleStock.start(sku, leaseSize);
+    }
+
+    public long endFlashSale(String sku) {
+        return flashSaleStock.end(sku);
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private StockReservationStatus reserveAtomically(String sku, int units) {
+        Integer updated = transactionTemplate.execute(status -> productRepository.decrementStock(sku, units));
+        if (updated != null && updated > 0) return StockReservationStatus.RESERVED;
+        return productRepository.existsBySku(sku) ? StockReservationStatus.INSUFFICIENT_STOCK : StockReservationStatus.UNKNOWN_SKU;
+    }
+
+//    Every attempt is its own transaction, the version check happens on the UPDATE at commit
+    private StockReservationStatus reserveOptimistically(String sku, int units) {
+        for (int attempt = 1; attempt <= maxOptimisticAttempts; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    Optional<Product> product = productRepository.findBySku(sku);
+                    if (product.isEmpty()) return StockReservationStatus.UNKNOWN_SKU;
+                    if (product.get().getQuantity() < units) return StockReservationStatus.INSUFFICIENT_STOCK;
+                    product.get().setQuantity(product.get().getQuantity() - units);
+                    return StockReservationStatus.RESERVED;
+                });
+            } catch (OptimisticLockingFailureException e) {
+                // Lost the race: back off a little (randomised, growing with the attempts) and read the row again
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(100_000L * attempt));
+            }
+        }
+        return StockReservationStatus.CONTENDED;
+    }
+
+    private StockReservationDTO result(String sku, int units, StockReservationStatus status, boolean flashSale) {
+        return StockReservationDTO.builder()
+                .sku(sku)
+                .units(units)
+                .status(status)
+                .flashSale(flashSale)
+                .build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.benchmarks;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.entities.Product;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services.ProductCatalogSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+The same catalog held as List<Product> (+ a sku map, what a cache of entities looks like) or as ProductCatalogSnapshot.
+- Setup prints the heap each representation retains (used heap after a full GC, before and after building it).
+- priceRangeStockValue scans every product, lookupBySku is the single-product read.
+- patchOneProduct: cost of publishing one changed row as a new snapshot.
+Run with the GC profiler (jmh profile or main method): allocation rates and gc.count / gc.time per representation.
+No database involved, both representations are built from the same generated rows.
+*/
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ProductCatalogSnapshotBenchmark {
+
+    private static final long MIN_PRICE_UNITS = 1000;
+    private static final long MAX_PRICE_UNITS = 2000;
+
+    @Param({"1000000"})
+    private int productCount;
+
+    private List<Product> products;
+    private Map<String, Product> productsBySku;
+    private ProductCatalogSnapshot snapshot;
+    private int lookup;
+
+    @Setup(Level.Trial)
+    public void buildCatalogs() {
+        long before = usedHeapAfterGc();
+        products = new ArrayList<>(productCount);
+        productsBySku = new HashMap<>(productCount * 2);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= productCount; i++) {
+            Product product = Product.builder()
+                    .id((long) i)
+                    .sku("sku" + i)
+                    .title("Product " + (i % 50_000))
+                    .price(BigDecimal.valueOf(100 + i % 10_000, ProductCatalogSnapshot.PRICE_SCALE))
+                    .quantity(i % 100)
+                    .version(0L)
+                    .createdAt(now.minusSeconds(i))
+                    .updatedAt(now.minusSeconds(i % 1000))
+                    .build();
+            products.add(product);
+            productsBySku.put(product.getSku().toLowerCase(Locale.ROOT), product);
+        }
+        long entities = usedHeapAfterGc();
+
+        ProductCatalogSnapshot.Builder builder = ProductCatalogSnapshot.builder(productCount);
+        for (Product product : products) {
+            builder.add(new ProductCatalogSnapshot.Row(product.getId(), product.getSku(), product.getTitle(),
+                    product.getPrice(), product.getQuantity()));
+        }
+        snapshot = builder.build(1);
+        long withSnapshot = usedHeapAfterGc();
+
+        System.out.printf("%n# List<Product> + sku map: %,d bytes retained, ProductCatalogSnapshot: %,d bytes retained (%,d by its own count)%n",
+                entities - before, withSnapshot - entities, snapshot.footprintBytes());
+    }
+
+    @Benchmark
+    public BigDecimal priceRangeStockValueEntities() {
+        BigDecimal min = BigDecimal.valueOf(MIN_PRICE_UNITS, ProductCatalogSnapshot.PRICE_SCALE);
+        BigDecimal max = BigDecimal.valueOf(MAX_PRICE_UNITS, ProductCatalogSnapshot.PRICE_SCALE);
+        BigDecimal value = BigDecimal.ZERO;
+        for (Product product : products) {
+            if (product.getPrice().compareTo(min) >= 0 && product.getPrice().compareTo(max) <= 0) {
+                value = value.add(product.getPrice().multiply(BigDecimal.valueOf(product.getQuantity())));
+            }
+        }
+        return value;
+    }
+
+    @Benchmark
+    public BigDecimal priceRangeStockValueSnapshot() {
+        long value = 0;
+        for (int row = 0; row < snapshot.size(); row++) {
+            long price = snapshot.priceUnits(row);
+            if (price >= MIN_PRICE_UNITS && price <= MAX_PRICE_UNITS) value += price * snapshot.quantityOrZero(row);
+        }
+        return BigDecimal.valueOf(value, ProductCatalogSnapshot.PRICE_SCALE);
+    }
+
+    @Benchmark
+    public String lookupBySkuEntities() {
+        return productsBySku.get(nextSku().toLowerCase(Locale.ROOT)).getTitle();
+    }
+
+    @Benchmark
+    public String lookupBySkuSnapshot() {
+        return snapshot.title(snapshot.rowOfSku(nextSku()));
+    }
+
+    @Benchmark
+    public ProductCatalogSnapshot patchOneProduct() {
+        int id = 1 + lookup++ % productCount;
+        return snapshot.patch(List.of(new ProductCatalogSnapshot.Row(id, "sku" + id, "Patched " + id, BigDecimal.TEN, 1)),
+                List.of(), snapshot.version() + 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductCatalogSnapshotBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private String nextSku() {
+        return "SKU" + (1 + lookup++ % productCount);
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,113 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.benchmarks;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.HibernateJpaApplication;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductSearchResultDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services.ProductSearchService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+/products/search against the SQL it replaces, for a growing catalog in an embedded H2 database (MySQL mode):
+- searchIndex / priceRangeIndex: ProductSearchService, the in-memory inverted index and price index
+- searchLike / priceRangeSql: WHERE title LIKE '%term%' and WHERE price BETWEEN, each with its COUNT(*) for the total
+The index should stay flat across productCount while the LIKE scan grows with it.
+Throughput plus SampleTime (p50/p90/p99/p99.9 latency); run through the jmh profile or the main method for allocation rates.
+*/
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+
+    private static final String[] BRANDS = {"Pepsi", "Coca", "Parle", "Oreo", "Lays", "KitKat", "Maggi", "Fanta"};
+    private static final String[] KINDS = {"Biscuit", "Cola", "Chips", "Noodles", "Cookies", "Zero", "Max", "Twist"};
+    private static final String[] FLAVOURS = {"Vanilla", "Cherry", "Lemon", "Masala", "Classic", "Orange", "Mint", "Chocolate"};
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000"})
+    private int productCount;
+
+    private ConfigurableApplicationContext context;
+    private ProductSearchService productSearchService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(HibernateJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:search;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.sql.init.mode=never",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        productSearchService = context.getBean(ProductSearchService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<Object[]> rows = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            String title = BRANDS[i % BRANDS.length] + " " + KINDS[(i / BRANDS.length) % KINDS.length] + " "
+                    + FLAVOURS[(i / (BRANDS.length * KINDS.length)) % FLAVOURS.length] + " " + i;
+            rows.add(new Object[]{"sku" + i, title, BigDecimal.valueOf(100 + i % 5000, 2), 10});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product_table (sku, title, price, quantity, version) VALUES (?, ?, ?, ?, 0)", rows);
+        productSearchService.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductSearchResultDTO searchIndex() {
+        return productSearchService.search("cherry cola", null, null, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object[] searchLike() {
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_table WHERE LOWER(title) LIKE '%cherry%' OR LOWER(title) LIKE '%cola%'", Long.class);
+        List<Map<String, Object>> hits = jdbcTemplate.queryForList(
+                "SELECT id, sku, title, price FROM product_table WHERE LOWER(title) LIKE '%cherry%' OR LOWER(title) LIKE '%cola%' ORDER BY price LIMIT ?",
+                PAGE_SIZE);
+        return new Object[]{total, hits};
+    }
+
+    @Benchmark
+    public ProductSearchResultDTO priceRangeIndex() {
+        return productSearchService.search(null, new BigDecimal("10.00"), new BigDecimal("12.00"), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object[] priceRangeSql() {
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_table WHERE price BETWEEN 10.00 AND 12.00", Long.class);
+        List<Map<String, Object>> hits = jdbcTemplate.queryForList(
+                "SELECT id, sku, title, price FROM product_table WHERE price BETWEEN 10.00 AND 12.00 ORDER BY price, id LIMIT ?",
+                PAGE_SIZE);
+        return new Object[]{total, hits};
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductSearchBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,53 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+Request parameters out of range are a 400 with an ApiError body saying what is allowed, never an empty 400 or a 500.
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:products;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class ProductControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void tooManySkusIsBadRequestWithApiError() throws Exception {
+        String skus = IntStream.rangeClosed(1, 1001).mapToObj(i -> "sku" + i).collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/products/sku").param("skus", skus))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.httpStatus").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").value("At most 1000 skus per lookup, got 1001"));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"-1, 20", "0, 0", "0, 101"})
+    void searchPageOutOfRangeIsBadRequestWithApiError(int page, int size) throws Exception {
+        mockMvc.perform(get("/products/search").param("q", "pepsi")
+                        .param("page", String.valueOf(page)).param("size", String.valueOf(size)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.httpStatus").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").value("page must be >= 0 and size between 1 and 100"));
+    }
+}
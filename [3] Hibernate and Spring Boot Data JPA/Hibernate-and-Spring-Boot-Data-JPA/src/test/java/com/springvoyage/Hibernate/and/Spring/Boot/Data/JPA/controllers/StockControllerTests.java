@@ -0,0 +1,38 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.controllers;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+A reservation of zero or fewer units is a 400 with an ApiError body, it never reaches StockService.
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stockapi;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class StockControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -3})
+    void nonPositiveUnitsIsBadRequest(int units) throws Exception {
+        mockMvc.perform(post("/stock/{sku}/reserve", "pepsi123").param("units", String.valueOf(units)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.httpStatus").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").value("units must be > 0, got " + units));
+    }
+}
@@ -0,0 +1,130 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+A catalog snapshot written to a file comes back with the same rows, version, watermark and TableFingerprint.
+A file that is cut short, has a flipped payload byte or is not a snapshot at all reads as empty.
+*/
+class ProductCatalogSnapshotFileTests {
+
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_456_000);
+    private static final ProductCatalogSnapshotFile.TableFingerprint FINGERPRINT =
+            new ProductCatalogSnapshotFile.TableFingerprint(3, WATERMARK.minusSeconds(1));
+    private static final int HEADER_BYTES = 64;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void snapshotRoundTrip() throws IOException {
+        ProductCatalogSnapshotFile snapshotFile = snapshotFile();
+        snapshotFile.write(snapshot(), WATERMARK, FINGERPRINT);
+
+        Optional<ProductCatalogSnapshotFile.Contents> contents = snapshotFile.read();
+
+        assertThat(contents).isPresent();
+        assertThat(contents.get().watermark()).isEqualTo(WATERMARK);
+        assertThat(contents.get().fingerprint()).isEqualTo(FINGERPRINT);
+        ProductCatalogSnapshot read = contents.get().snapshot();
+        assertThat(read.version()).isEqualTo(7);
+        assertThat(read.size()).isEqualTo(3);
+        assertThat(read.rowOfSku("PEPSI123")).isEqualTo(read.rowOfId(2));
+        assertThat(read.title(read.rowOfId(1))).isEqualTo("Parle Biscuit");
+        assertThat(read.price(read.rowOfId(1))).isEqualTo(new BigDecimal("12.40"));
+        assertThat(read.quantity(read.rowOfId(1))).isEqualTo(4);
+        assertThat(read.title(read.rowOfId(3))).isNull();
+        assertThat(read.price(read.rowOfId(3))).isNull();
+        assertThat(read.quantity(read.rowOfId(3))).isNull();
+    }
+
+    @Test
+    void fingerprintWithoutTimestampRoundTrips() throws IOException {
+        ProductCatalogSnapshotFile snapshotFile = snapshotFile();
+        ProductCatalogSnapshotFile.TableFingerprint undated = new ProductCatalogSnapshotFile.TableFingerprint(3, null);
+        snapshotFile.write(snapshot(), WATERMARK, undated);
+
+        assertThat(snapshotFile.read()).get().extracting(ProductCatalogSnapshotFile.Contents::fingerprint).isEqualTo(undated);
+    }
+
+    @Test
+    void missingFileReadsAsEmpty() throws IOException {
+        assertThat(snapshotFile().read()).isEmpty();
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        ProductCatalogSnapshotFile snapshotFile = snapshotFile();
+        snapshotFile.write(snapshot(), WATERMARK, FINGERPRINT);
+
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile.path().toFile(), "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        assertThat(snapshotFile.read()).isEmpty();
+    }
+
+    @Test
+    void corruptedPayloadIsRejected() throws IOException {
+        ProductCatalogSnapshotFile snapshotFile = snapshotFile();
+        snapshotFile.write(snapshot(), WATERMARK, FINGERPRINT);
+
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile.path().toFile(), "rw")) {
+            file.seek(HEADER_BYTES + 5);
+            int value = file.read();
+            file.seek(HEADER_BYTES + 5);
+            file.write(value ^ 0xFF);
+        }
+
+        assertThat(snapshotFile.read()).isEmpty();
+    }
+
+    @Test
+    void foreignFileIsRejected() throws IOException {
+        ProductCatalogSnapshotFile snapshotFile = snapshotFile();
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile.path().toFile(), "rw")) {
+            file.write(new byte[HEADER_BYTES * 2]);
+        }
+
+        assertThat(snapshotFile.read()).isEmpty();
+    }
+
+//    A table that moved on continues the dump, a recreated or cut back one does not
+    @Test
+    void fingerprintIsContinuedOnlyByTheSameTable() {
+        LocalDateTime newest = FINGERPRINT.maxUpdatedAt();
+
+        assertThat(FINGERPRINT.isContinuedBy(new ProductCatalogSnapshotFile.TableFingerprint(3, newest))).isTrue();
+        assertThat(FINGERPRINT.isContinuedBy(new ProductCatalogSnapshotFile.TableFingerprint(9, newest.plusHours(1)))).isTrue();
+        assertThat(FINGERPRINT.isContinuedBy(new ProductCatalogSnapshotFile.TableFingerprint(2, newest.plusHours(1)))).isFalse();
+        assertThat(FINGERPRINT.isContinuedBy(new ProductCatalogSnapshotFile.TableFingerprint(3, newest.minusSeconds(1)))).isFalse();
+        assertThat(FINGERPRINT.isContinuedBy(new ProductCatalogSnapshotFile.TableFingerprint(3, null))).isFalse();
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private ProductCatalogSnapshotFile snapshotFile() {
+        return new ProductCatalogSnapshotFile(directory.resolve("catalog.snapshot"));
+    }
+
+    private static ProductCatalogSnapshot snapshot() {
+        return ProductCatalogSnapshot.builder(3)
+                .add(new ProductCatalogSnapshot.Row(1, "parle734", "Parle Biscuit", new BigDecimal("12.4"), 4))
+                .add(new ProductCatalogSnapshot.Row(2, "pepsi123", "Pepsi", new BigDecimal("14.40"), 1))
+                .add(new ProductCatalogSnapshot.Row(3, "blank001", null, null, null))
+                .build(7);
+    }
+}
@@ -0,0 +1,177 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.entities.Product;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+The catalog snapshot against product_table. A refresh patches the rows changed since the watermark into the
+snapshot (no overlap and no garbage limit here, so a patch can be told apart from a rebuild by its dictionary
+garbage), a delete changes the row count and makes the refresh rebuild instead.
+A snapshot file is only loaded when product_table still continues the table it was dumped from.
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false"
+})
+class ProductCatalogSnapshotServiceTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @TempDir
+    private Path directory;
+
+    private final List<Product> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        products.clear();
+        for (int i = 1; i <= 3; i++) products.add(save("catalog00" + i, "Catalog item " + i, new BigDecimal(i + ".50"), i * 10));
+    }
+
+    @Test
+    void refreshPatchesChangedAndNewRows() {
+        ProductCatalogSnapshotService service = service(Optional.empty());
+        service.rebuild();
+        long builtVersion = service.current().version();
+
+        Product changed = products.get(1);
+        changed.setPrice(new BigDecimal("99.99"));
+        changed.setQuantity(0);
+        productRepository.save(changed);
+        Product added = save("catalog004", "Catalog item 4", new BigDecimal("4.50"), 40);
+        service.refresh();
+
+        ProductCatalogSnapshot snapshot = service.current();
+        assertThat(snapshot.version()).isEqualTo(builtVersion + 1);
+        assertThat(snapshot.size()).isEqualTo(4);
+        assertThat(snapshot.price(snapshot.rowOfId(changed.getId()))).isEqualTo(new BigDecimal("99.99"));
+        assertThat(snapshot.quantity(snapshot.rowOfId(changed.getId()))).isZero();
+        assertThat(snapshot.title(snapshot.rowOfSku("catalog004"))).isEqualTo("Catalog item 4");
+        assertThat(snapshot.id(snapshot.rowOfSku("catalog004"))).isEqualTo(added.getId());
+        assertThat(snapshot.price(snapshot.rowOfId(products.get(0).getId()))).isEqualTo(new BigDecimal("1.50"));
+        assertThat(snapshot.garbageRatio()).isPositive(); // patched, a rebuild leaves no garbage
+        assertThat(service.watermark()).isEqualTo(reloaded(added).getUpdatedAt());
+    }
+
+//    A deleted row never shows up as changed, only the row count gives it away
+    @Test
+    void refreshRebuildsAfterADelete() {
+        ProductCatalogSnapshotService service = service(Optional.empty());
+        service.rebuild();
+        Product deleted = products.get(0);
+
+        productRepository.deleteById(deleted.getId());
+        service.refresh();
+
+        ProductCatalogSnapshot snapshot = service.current();
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.rowOfId(deleted.getId())).isEqualTo(-1);
+        assertThat(snapshot.rowOfSku(deleted.getSku())).isEqualTo(-1);
+        assertThat(snapshot.garbageRatio()).isZero();
+    }
+
+    @Test
+    void refreshBeforeTheFirstBuildBuildsTheSnapshot() {
+        ProductCatalogSnapshotService service = service(Optional.empty());
+
+        service.refresh();
+
+        assertThat(service.current().size()).isEqualTo(3);
+        assertThat(service.watermark()).isNotNull();
+    }
+
+//    The next start maps the dump back in and only reads what changed since
+    @Test
+    void loadContinuesFromTheDumpedFile() {
+        Optional<ProductCatalogSnapshotFile> snapshotFile = snapshotFile();
+        ProductCatalogSnapshotService previousRun = service(snapshotFile);
+        previousRun.rebuild();
+        previousRun.rebuild();
+        previousRun.dump();
+
+        Product changed = products.get(2);
+        changed.setPrice(new BigDecimal("42.00"));
+        productRepository.save(changed);
+        ProductCatalogSnapshotService nextRun = service(snapshotFile);
+        nextRun.load();
+
+        ProductCatalogSnapshot snapshot = nextRun.current();
+        assertThat(snapshot.version()).isEqualTo(3); // dumped version 2 + the patch, a fresh build would be version 1
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.price(snapshot.rowOfId(changed.getId()))).isEqualTo(new BigDecimal("42.00"));
+    }
+
+/*  Same ids and row count, but the rows were reset without updated_at (like data.sql after ddl-auto=create).
+    No row shows up as changed, only the fingerprint tells the file's prices are not the table's.*/
+    @Test
+    void loadIgnoresAFileTheTableDoesNotContinue() {
+        Optional<ProductCatalogSnapshotFile> snapshotFile = snapshotFile();
+        ProductCatalogSnapshotService previousRun = service(snapshotFile);
+        previousRun.rebuild();
+        previousRun.rebuild();
+        previousRun.dump();
+
+        jdbcTemplate.update("UPDATE product_table SET price = 77.77, updated_at = NULL");
+        ProductCatalogSnapshotService nextRun = service(snapshotFile);
+        nextRun.load();
+
+        ProductCatalogSnapshot snapshot = nextRun.current();
+        assertThat(snapshot.version()).isEqualTo(1);
+        assertThat(snapshot.size()).isEqualTo(3);
+        for (int row = 0; row < snapshot.size(); row++) assertThat(snapshot.price(row)).isEqualTo(new BigDecimal("77.77"));
+    }
+
+    @Test
+    void loadWithoutAFileBuildsFromTheTable() {
+        ProductCatalogSnapshotService service = service(snapshotFile());
+
+        service.load();
+
+        assertThat(service.current().version()).isEqualTo(1);
+        assertThat(service.current().size()).isEqualTo(3);
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private ProductCatalogSnapshotService service(Optional<ProductCatalogSnapshotFile> snapshotFile) {
+        return new ProductCatalogSnapshotService(jdbcTemplate, Duration.ZERO, 1.0, snapshotFile);
+    }
+
+    private Optional<ProductCatalogSnapshotFile> snapshotFile() {
+        return Optional.of(new ProductCatalogSnapshotFile(directory.resolve("catalog.snapshot")));
+    }
+
+    private Product save(String sku, String title, BigDecimal price, int quantity) {
+        return productRepository.save(Product.builder().sku(sku).title(title).price(price).quantity(quantity).build());
+    }
+
+    private Product reloaded(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,160 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.IngestReportDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductFileFormat;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.entities.IngestCheckpoint;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.entities.Product;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.repositories.IngestCheckpointRepository;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+Catalog files go through the real batch upsert (H2 in MySQL mode understands ON DUPLICATE KEY UPDATE).
+Existing skus are updated in place, a bad line is rejected alone, and a job that died halfway resumes right after
+its last committed batch: nothing is written twice, nothing is skipped.
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false",
+        "products.ingest.batch-size=2"
+})
+class ProductIngestServiceTests {
+
+    private static final String JOB = "ingest-test";
+
+    // Lines 2..7, written in batches of 2
+    private static final String CATALOG = """
+            sku,title,price,quantity
+            ingest001,Ingest item 1,1.00,10
+            ingest002,Ingest item 2,2.00,20
+            ingest003,Ingest item 3,3.00,30
+            ingest004,Ingest item 4,4.00,40
+            ingest005,Ingest item 5,5.00,50
+            ingest006,Ingest item 6,6.00,60
+            """;
+
+    @Autowired
+    private ProductIngestService productIngestService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private IngestCheckpointRepository ingestCheckpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM product_table WHERE sku LIKE 'ingest%'");
+        productIngestService.resetJob(JOB);
+    }
+
+    @Test
+    void upsertUpdatesExistingSkusAndInsertsNewOnes() {
+        productRepository.save(Product.builder()
+                .sku("ingest001")
+                .title("Old title")
+                .price(new BigDecimal("0.50"))
+                .quantity(1)
+                .build());
+
+        IngestReportDTO report = ingest(CATALOG);
+
+        assertThat(report.getRowsWritten()).isEqualTo(6);
+        assertThat(report.getBatches()).isEqualTo(3);
+        Product updated = productRepository.findBySku("ingest001").orElseThrow();
+        assertThat(updated.getTitle()).isEqualTo("Ingest item 1");
+        assertThat(updated.getPrice()).isEqualByComparingTo("1.00");
+        assertThat(updated.getQuantity()).isEqualTo(10);
+        assertThat(updated.getVersion()).isEqualTo(1L); // bumped by the upsert, stale optimistic writers fail
+        assertThat(productRepository.findQuantityBySku("ingest006")).contains(60);
+    }
+
+    @Test
+    void invalidLineIsRejectedAlone() {
+        IngestReportDTO report = ingest("""
+                sku,title,price,quantity
+                ingest001,Ingest item 1,1.00,10
+                ingest002,Ingest item 2,not a price,20
+                ingest003,Ingest item 3,3.00,30
+                """);
+
+        assertThat(report.getRowsWritten()).isEqualTo(2);
+        assertThat(report.getRowsRejected()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement().asString().startsWith("line 3:");
+        assertThat(productRepository.findBySku("ingest002")).isEmpty();
+        assertThat(productRepository.findBySku("ingest003")).isPresent();
+    }
+
+    @Test
+    void failedJobResumesAfterLastCommittedBatch() {
+        // The upload breaks after line 6: lines 2-5 are committed in two batches, line 6 never is
+        String upToLine6 = CATALOG.substring(0, CATALOG.indexOf("ingest006"));
+        assertThatThrownBy(() -> productIngestService.ingest(JOB, ProductFileFormat.CSV, brokenUpload(upToLine6)))
+                .isInstanceOf(UncheckedIOException.class);
+
+        IngestCheckpoint checkpoint = ingestCheckpointRepository.findById(JOB).orElseThrow();
+        assertThat(checkpoint.getLastCommittedLine()).isEqualTo(5);
+        assertThat(productRepository.findBySku("ingest005")).isEmpty();
+
+        IngestReportDTO resumed = ingest(CATALOG);
+
+        assertThat(resumed.getResumedFromLine()).isEqualTo(5);
+        assertThat(resumed.getLinesRead()).isEqualTo(2);
+        assertThat(resumed.getRowsWritten()).isEqualTo(2);
+        assertThat(ingestCheckpointRepository.findById(JOB).orElseThrow().getRowsWritten()).isEqualTo(6);
+        for (int i = 1; i <= 6; i++) assertThat(productRepository.findBySku("ingest00" + i)).isPresent();
+    }
+
+    @Test
+    void finishedJobWritesNothingTheSecondTime() {
+        ingest(CATALOG);
+        IngestReportDTO again = ingest(CATALOG);
+
+        assertThat(again.getResumedFromLine()).isEqualTo(7);
+        assertThat(again.getLinesRead()).isZero();
+        assertThat(again.getRowsWritten()).isZero();
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private IngestReportDTO ingest(String csv) {
+        return productIngestService.ingest(JOB, ProductFileFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+//    Serves the given content, then fails like a dropped connection instead of reaching the end of the stream
+    private static InputStream brokenUpload(String content) {
+        return new FilterInputStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = super.read(b, off, len);
+                if (read < 0) throw new IOException("Connection reset");
+                return read;
+            }
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Ranking, paging and price ranges of the index on a small catalog.
+For "pepsi": the one-word title first, longer titles after it, and "Pepsico Snack" (a prefix match, half weight but
+a rarer token) in between. Pages are consecutive slices of that ranking and totalHits counts every match.
+*/
+class ProductSearchIndexTests {
+
+    private final ProductSearchIndex index = new ProductSearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.put(1, "pepsi123", "Pepsi", new BigDecimal("14.40"));
+        index.put(2, "pepsi124", "Pepsi Wild Cherry", new BigDecimal("15.00"));
+        index.put(3, "pepsi127", "Diet Pepsi", new BigDecimal("15.60"));
+        index.put(4, "Coke124", "Coca Cola", new BigDecimal("34.40"));
+        index.put(5, "snack001", "Pepsico Snack", new BigDecimal("10.00"));
+        index.put(6, "parle734", "Parle Biscuit", null);
+    }
+
+    @Test
+    void shorterTitlesRankFirst() {
+        ProductSearchIndex.Page page = index.search("pepsi", null, null, 0, 10);
+
+        assertThat(page.totalHits()).isEqualTo(4);
+        assertThat(ids(page)).containsExactly(1L, 3L, 5L, 2L);
+        assertThat(page.hits()).isSortedAccordingTo((a, b) -> Double.compare(b.score(), a.score()));
+    }
+
+    @Test
+    void everyMatchedQueryTokenAddsToTheScore() {
+        assertThat(ids(index.search("diet pepsi", null, null, 0, 10))).startsWith(3L);
+    }
+
+    @Test
+    void lastQueryTokenMatchesAsPrefix() {
+        ProductSearchIndex.Page page = index.search("Pep", null, null, 0, 10);
+
+        assertThat(page.totalHits()).isEqualTo(4);
+        assertThat(ids(page)).containsExactlyInAnyOrder(1L, 2L, 3L, 5L);
+        assertThat(ids(index.search("pep cola", null, null, 0, 10))).containsExactly(4L); // only the last token
+    }
+
+    @Test
+    void pagesAreSlicesOfTheRanking() {
+        List<Long> ranking = ids(index.search("pepsi", null, null, 0, 10));
+
+        ProductSearchIndex.Page first = index.search("pepsi", null, null, 0, 2);
+        ProductSearchIndex.Page second = index.search("pepsi", null, null, 1, 2);
+        ProductSearchIndex.Page beyond = index.search("pepsi", null, null, 2, 2);
+
+        assertThat(ids(first)).containsExactlyElementsOf(ranking.subList(0, 2));
+        assertThat(ids(second)).containsExactlyElementsOf(ranking.subList(2, 4));
+        assertThat(beyond.hits()).isEmpty();
+        assertThat(List.of(first.totalHits(), second.totalHits(), beyond.totalHits())).containsOnly(4L);
+    }
+
+    @Test
+    void priceRangeIsInclusiveAndFiltersMatches() {
+        ProductSearchIndex.Page page = index.search("pepsi", new BigDecimal("15.00"), new BigDecimal("15.60"), 0, 10);
+
+        assertThat(page.totalHits()).isEqualTo(2);
+        assertThat(ids(page)).containsExactly(3L, 2L);
+    }
+
+//    Without a query: cheapest first, a product without a price only when the range is unbounded
+    @Test
+    void priceOnlySearchListsCheapestFirst() {
+        assertThat(ids(index.search(" ", null, null, 0, 10))).containsExactly(6L, 5L, 1L, 2L, 3L, 4L);
+        assertThat(ids(index.search(null, new BigDecimal("15"), null, 0, 10))).containsExactly(2L, 3L, 4L);
+
+        ProductSearchIndex.Page second = index.search(null, null, null, 1, 4);
+        assertThat(second.totalHits()).isEqualTo(6);
+        assertThat(ids(second)).containsExactly(3L, 4L);
+        assertThat(index.search(null, new BigDecimal("40"), new BigDecimal("20"), 0, 10).totalHits()).isZero();
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsADocument() {
+        index.put(1, "pepsi123", "Fanta", new BigDecimal("50.00"));
+        index.remove(3);
+
+        assertThat(ids(index.search("pepsi", null, null, 0, 10))).containsExactlyInAnyOrder(2L, 5L);
+        assertThat(ids(index.search("fanta", null, null, 0, 10))).containsExactly(1L);
+        assertThat(ids(index.search(null, new BigDecimal("40"), null, 0, 10))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private static List<Long> ids(ProductSearchIndex.Page page) {
+        return page.hits().stream().map(hit -> hit.document().id()).toList();
+    }
+}
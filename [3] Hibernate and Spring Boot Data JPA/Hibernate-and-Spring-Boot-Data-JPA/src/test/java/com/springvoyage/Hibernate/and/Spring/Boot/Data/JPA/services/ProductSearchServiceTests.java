@@ -0,0 +1,108 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.ProductSearchHitDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ProductService changes reach the search index only once their transaction committed.
+Inside the transaction a new product is not found yet and a deleted one still is; a rolled back create never
+shows up at all.
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false"
+})
+class ProductSearchServiceTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        productSearchService.rebuild();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void createIsSearchableAfterCommitOnly() {
+        ProductDTO created = transactionTemplate.execute(status -> {
+            ProductDTO product = productService.createNewProduct(product("search001", "Mango Juice"));
+            assertThat(search("mango")).isEmpty();
+            return product;
+        });
+
+        assertThat(search("mango")).containsExactly(created.getId());
+    }
+
+    @Test
+    void rolledBackCreateIsNeverSearchable() {
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.createNewProduct(product("search002", "Guava Juice"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(search("guava")).isEmpty();
+        assertThat(productSearchService.size()).isZero();
+    }
+
+    @Test
+    void updateAndDeleteApplyAfterCommitOnly() {
+        ProductDTO created = productService.createNewProduct(product("search003", "Lemon Soda"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.updateProductById(created.getId(), product("search003", "Lime Soda"));
+            assertThat(search("lemon")).containsExactly(created.getId());
+            assertThat(search("lime")).isEmpty();
+        });
+        assertThat(search("lemon")).isEmpty();
+        assertThat(search("lime")).containsExactly(created.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.deleteProductById(created.getId());
+            assertThat(search("lime")).containsExactly(created.getId());
+        });
+        assertThat(search("lime")).isEmpty();
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private List<Long> search(String query) {
+        return productSearchService.search(query, null, null, 0, 20).getHits().stream()
+                .map(ProductSearchHitDTO::getId)
+                .toList();
+    }
+
+    private static ProductDTO product(String sku, String title) {
+        return ProductDTO.builder().sku(sku).title(title).price(new BigDecimal("3.50")).quantity(10).build();
+    }
+}
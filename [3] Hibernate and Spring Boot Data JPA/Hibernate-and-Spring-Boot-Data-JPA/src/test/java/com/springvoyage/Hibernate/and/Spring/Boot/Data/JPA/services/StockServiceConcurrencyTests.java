@@ -0,0 +1,133 @@
+package com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.services;
+
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.StockReservationDTO;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.StockReservationStatus;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.dto.StockReservationStrategy;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.entities.Product;
+import com.springvoyage.Hibernate.and.Spring.Boot.Data.JPA.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Many threads fight over one sku with far more orders than stock.
+Whatever the strategy: reserved units + units left in the row must equal the initial stock, and the row never
+goes negative (no oversell).
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stock;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.hikari.maximum-pool-size=16"
+})
+class StockServiceConcurrencyTests {
+
+    private static final String SKU = "flash001";
+    private static final int INITIAL_STOCK = 500;
+    private static final int THREADS = 32;
+    private static final int ORDERS_PER_THREAD = 40; // 1280 orders for 500 units
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.findBySku(SKU).ifPresent(productRepository::delete);
+        productRepository.save(Product.builder()
+                .sku(SKU)
+                .title("Flash sale item")
+                .price(new BigDecimal("9.99"))
+                .quantity(INITIAL_STOCK)
+                .build());
+    }
+
+    @Test
+    void atomicDecrementNeverOversells() throws Exception {
+        int reserved = runOrders(() -> stockService.reserve(SKU, 1, StockReservationStrategy.ATOMIC));
+
+        assertThat(reserved).isEqualTo(INITIAL_STOCK);
+        assertThat(quantityLeft()).isZero();
+    }
+
+    @Test
+    void optimisticRetriesNeverOversell() throws Exception {
+        int reserved = runOrders(() -> stockService.reserve(SKU, 1, StockReservationStrategy.OPTIMISTIC));
+
+        // Some orders may give up as CONTENDED, but every reserved unit is gone from the row exactly once
+        assertThat(quantityLeft()).isGreaterThanOrEqualTo(0);
+        assertThat(reserved + quantityLeft()).isEqualTo(INITIAL_STOCK);
+    }
+
+    @Test
+    void flashSalePoolNeverOversells() throws Exception {
+        stockService.startFlashSale(SKU, 50);
+
+        int reserved = runOrders(() -> stockService.reserve(SKU, 1, StockReservationStrategy.ATOMIC));
+        long returned = stockService.endFlashSale(SKU);
+
+        assertThat(reserved).isEqualTo(INITIAL_STOCK);
+        assertThat(returned).isZero();
+        assertThat(quantityLeft()).isZero();
+    }
+
+    @Test
+    void endingFlashSaleReturnsUnsoldUnits() throws Exception {
+        stockService.startFlashSale(SKU, 200);
+
+        for (int i = 0; i < 30; i++) {
+            assertThat(stockService.reserve(SKU, 1, StockReservationStrategy.ATOMIC).getStatus())
+                    .isEqualTo(StockReservationStatus.RESERVED);
+        }
+        long returned = stockService.endFlashSale(SKU);
+
+        assertThat(returned).isEqualTo(200 - 30);
+        assertThat(quantityLeft()).isEqualTo(INITIAL_STOCK - 30);
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+//    Starts all threads at once and returns how many orders were RESERVED
+    private int runOrders(Callable<StockReservationDTO> order) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                        if (order.call().getStatus() == StockReservationStatus.RESERVED) reserved.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) future.get(2, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+        return reserved.get();
+    }
+
+    private int quantityLeft() {
+        return productRepository.findQuantityBySku(SKU).orElseThrow();
+    }
+}
@@ -1,6 +1,9 @@
 package com.springvoyage.prod.advices;
 
+import com.springvoyage.prod.exceptions.InvalidListingRequestException;
 import com.springvoyage.prod.exceptions.ResourceNotFoundException;
+import com.springvoyage.prod.exceptions.ServiceBusyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -17,4 +20,21 @@ public class GlobalExceptionHandler {
                 );
         return new ResponseEntity<>(apiError, HttpStatus.NOT_FOUND);
     }
+
+//    Overload (write-behind queue full): same answer as ConcurrencyLimitFilter, the client retries a bit later
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiError> handleServiceBusyException(ServiceBusyException exception){
+        ApiError apiError = new ApiError(exception.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(apiError);
+    }
+
+//    Unbounded listing refused (posts.listing.allow-unbounded=false), a cursor the feed did not hand out or an audit
+//    page out of range
+    @ExceptionHandler(InvalidListingRequestException.class)
+    public ResponseEntity<ApiError> handleInvalidListingRequestException(InvalidListingRequestException exception){
+        ApiError apiError = new ApiError(exception.getMessage(), HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
 }
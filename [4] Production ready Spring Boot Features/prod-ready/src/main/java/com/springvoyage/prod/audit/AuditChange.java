@@ -0,0 +1,16 @@
+package com.springvoyage.prod.audit;
+
+import org.hibernate.envers.RevisionType;
+
+import java.util.Map;
+
+/*
+One row for an audit table (e.g. posts_AUD), captured from a Hibernate post-insert/update/delete event.
+state only holds the audited properties, for DEL it is empty (Envers doesn't store data on delete by default).
+*/
+record AuditChange(String auditEntityName, String idPropertyName, Object id, RevisionType type, Map<String, Object> state) {
+
+    AuditChange withType(RevisionType newType, Map<String, Object> newState) {
+        return new AuditChange(auditEntityName, idPropertyName, id, newType, newState);
+    }
+}
@@ -0,0 +1,197 @@
+package com.springvoyage.prod.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.envers.DefaultRevisionEntity;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+In-memory outbox between the request transactions and the Envers audit tables (audit.mode=async).
+
+Committed AuditRecords are queued here and a single background worker writes them in batches: one transaction per
+batch, one REVINFO row per record and one audit row per change, inserted through the dynamic-map audit entities
+Envers maps (so table / column names and the revision id generator are exactly the ones Envers uses itself).
+When the queue is full the committing thread writes its record itself, so nothing is dropped under load.
+Once the outbox is stopped (after the web server, see getPhase) records are written by the committing thread too.
+Records still queued when the JVM dies are lost -> use audit.mode=sync where every change must be audited.
+
+Metrics: audit.outbox.depth (records waiting), audit.outbox.lag (age of the oldest waiting record),
+audit.outbox.revisions (written), audit.outbox.overflow (written by the caller), audit.outbox.failures,
+audit.outbox.write (time per batch transaction)
+*/
+@Slf4j
+public class AuditOutbox implements SmartLifecycle {
+
+    private static final String ORIGINAL_ID = "originalId";
+    private static final String REVISION = "REV";
+    private static final String REVISION_TYPE = "REVTYPE";
+
+    private final BlockingQueue<AuditRecord> queue;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter revisions;
+    private final Counter overflow;
+    private final Counter failures;
+    private final Timer writeTimer;
+
+    // Read: check running + offer in enqueue. Write: stop(). No record can be queued after the worker's last drain
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditOutbox(EntityManager entityManager, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                       int queueCapacity, int batchSize) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.entityManager = entityManager;
+        // The caller-side overflow write runs in afterCommit, where only a new transaction may be started
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+
+        Gauge.builder("audit.outbox.depth", queue, BlockingQueue::size)
+                .description("Audit records waiting to be written")
+                .register(meterRegistry);
+        TimeGauge.builder("audit.outbox.lag", this, TimeUnit.MILLISECONDS, AuditOutbox::lagMillis)
+                .description("Age of the oldest audit record waiting to be written")
+                .register(meterRegistry);
+        this.revisions = meterRegistry.counter("audit.outbox.revisions");
+        this.overflow = meterRegistry.counter("audit.outbox.overflow");
+        this.failures = meterRegistry.counter("audit.outbox.failures");
+        this.writeTimer = meterRegistry.timer("audit.outbox.write");
+    }
+
+    void enqueue(AuditRecord auditRecord) {
+        runningLock.readLock().lock();
+        try {
+            if (running && queue.offer(auditRecord)) return;
+        } finally {
+            runningLock.readLock().unlock();
+        }
+        overflow.increment();
+        write(List.of(auditRecord));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("audit-outbox").daemon().start(this::drainLoop);
+    }
+
+//    Runs before the EntityManagerFactory is closed: let the worker finish what is still queued
+    @Override
+    public void stop() {
+        runningLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+/*  Lower phase = started earlier and stopped later. Below the web server's lifecycles (graceful shutdown at
+    DEFAULT_PHASE - 1024, stop at DEFAULT_PHASE - 2048): the requests still in flight commit while the worker runs.
+    And below PostWriteBehindQueue, whose last batches still produce audit records.*/
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 2048 - 2;
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private void drainLoop() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditRecord first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+//    Keeps retrying a failed batch (DB down...) instead of dropping it, the lag metric shows the backlog growing
+    private void writeWithRetry(List<AuditRecord> batch) throws InterruptedException {
+        while (true) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                failures.increment();
+                if (!running) {
+                    log.error("Dropping {} audit records, writing them failed during shutdown", batch.size(), e);
+                    return;
+                }
+                log.warn("Writing {} audit records failed, retrying", batch.size(), e);
+                TimeUnit.SECONDS.sleep(1);
+            }
+        }
+    }
+
+    private void write(List<AuditRecord> batch) {
+        writeTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            for (AuditRecord auditRecord : batch) {
+                DefaultRevisionEntity revision = new DefaultRevisionEntity();
+                revision.setTimestamp(auditRecord.timestamp());
+                session.persist(revision);
+
+                for (AuditChange change : auditRecord.changes()) {
+                    Map<String, Object> originalId = new HashMap<>();
+                    originalId.put(change.idPropertyName(), change.id());
+                    originalId.put(REVISION, revision);
+
+                    Map<String, Object> row = new HashMap<>(change.state());
+                    row.put(ORIGINAL_ID, originalId);
+                    row.put(REVISION_TYPE, change.type());
+                    session.persist(change.auditEntityName(), row);
+                }
+            }
+        }));
+        revisions.increment(batch.size());
+    }
+
+    private double lagMillis() {
+        AuditRecord oldest = queue.peek();
+        return oldest == null ? 0 : System.currentTimeMillis() - oldest.timestamp();
+    }
+}
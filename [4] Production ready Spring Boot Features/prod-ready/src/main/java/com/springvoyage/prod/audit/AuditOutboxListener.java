@@ -0,0 +1,149 @@
+package com.springvoyage.prod.audit;
+
+import org.hibernate.envers.Audited;
+import org.hibernate.envers.NotAudited;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/*
+Replaces the Envers listeners in audit.mode=async.
+Inside the request transaction it only copies the audited properties of each change into a per-transaction map,
+no SQL is issued. Several changes of one entity in one transaction collapse into one audit row like Envers does
+(ADD + MOD -> ADD, ADD + DEL -> nothing, MOD + DEL -> DEL). After the commit the whole set goes to the AuditOutbox,
+a rolled back transaction leaves no trace.
+*/
+public class AuditOutboxListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String AUDIT_ENTITY_SUFFIX = "_AUD"; // Envers default (org.hibernate.envers.audit_table_suffix)
+
+    private final AuditOutbox auditOutbox;
+    private final Map<String, Optional<AuditedEntity>> auditedEntities = new ConcurrentHashMap<>();
+
+    public AuditOutboxListener(AuditOutbox auditOutbox) {
+        this.auditOutbox = auditOutbox;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        auditedEntity(event.getPersister()).ifPresent(audited ->
+                capture(audited, event.getId(), RevisionType.ADD, audited.state(event.getState())));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        auditedEntity(event.getPersister()).ifPresent(audited -> {
+            // Only non-audited properties changed (e.g. the title of a post) -> Envers writes no revision either
+            if (event.getOldState() != null && !audited.changed(event.getOldState(), event.getState())) return;
+            capture(audited, event.getId(), RevisionType.MOD, audited.state(event.getState()));
+        });
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        auditedEntity(event.getPersister()).ifPresent(audited ->
+                capture(audited, event.getId(), RevisionType.DEL, Map.of()));
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private void capture(AuditedEntity audited, Object id, RevisionType type, Map<String, Object> state) {
+        AuditChange change = new AuditChange(audited.auditEntityName(), audited.idPropertyName(), id, type, state);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditOutbox.enqueue(new AuditRecord(System.currentTimeMillis(), List.of(change)));
+            return;
+        }
+        PendingRevision pending = (PendingRevision) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingRevision();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(audited.entityName() + '#' + id, change);
+    }
+
+    private Optional<AuditedEntity> auditedEntity(EntityPersister persister) {
+        return auditedEntities.computeIfAbsent(persister.getEntityName(), entityName -> AuditedEntity.of(persister));
+    }
+
+//    What changed in the current transaction, keyed by entity name + id
+    private final class PendingRevision implements TransactionSynchronization {
+        private final long timestamp = System.currentTimeMillis(); // Envers also stamps the revision when it is created
+        private final Map<String, AuditChange> changes = new LinkedHashMap<>();
+
+        private void add(String key, AuditChange change) {
+            AuditChange previous = changes.get(key);
+            if (previous == null) {
+                changes.put(key, change);
+            } else if (previous.type() == RevisionType.ADD && change.type() == RevisionType.DEL) {
+                changes.remove(key);
+            } else if (previous.type() == RevisionType.ADD) {
+                changes.put(key, previous.withType(RevisionType.ADD, change.state()));
+            } else if (previous.type() == RevisionType.DEL && change.type() == RevisionType.ADD) {
+                changes.put(key, previous.withType(RevisionType.MOD, change.state()));
+            } else {
+                changes.put(key, change);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (!changes.isEmpty()) auditOutbox.enqueue(new AuditRecord(timestamp, List.copyOf(changes.values())));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AuditOutboxListener.this);
+        }
+    }
+
+//    Indexes of the audited properties of one entity, resolved once from @Audited / @NotAudited
+    private record AuditedEntity(String entityName, String auditEntityName, String idPropertyName,
+                                 String[] propertyNames, int[] auditedIndexes) {
+
+        private static Optional<AuditedEntity> of(EntityPersister persister) {
+            Class<?> entityClass = persister.getMappedClass();
+            if (!AnnotatedElementUtils.hasAnnotation(entityClass, Audited.class)) return Optional.empty();
+
+            String[] propertyNames = persister.getPropertyNames();
+            int[] auditedIndexes = IntStream.range(0, propertyNames.length)
+                    .filter(i -> {
+                        Field field = ReflectionUtils.findField(entityClass, propertyNames[i]);
+                        return field != null && !field.isAnnotationPresent(NotAudited.class);
+                    })
+                    .toArray();
+            return Optional.of(new AuditedEntity(persister.getEntityName(), persister.getEntityName() + AUDIT_ENTITY_SUFFIX,
+                    persister.getIdentifierPropertyName(), propertyNames, auditedIndexes));
+        }
+
+        private Map<String, Object> state(Object[] state) {
+            Map<String, Object> audited = new HashMap<>();
+            for (int i : auditedIndexes) audited.put(propertyNames[i], state[i]);
+            return audited;
+        }
+
+        private boolean changed(Object[] oldState, Object[] state) {
+            for (int i : auditedIndexes) {
+                if (!Objects.equals(oldState[i], state[i])) return true;
+            }
+            return false;
+        }
+    }
+}
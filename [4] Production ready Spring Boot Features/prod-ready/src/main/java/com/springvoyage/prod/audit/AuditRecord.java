@@ -0,0 +1,7 @@
+package com.springvoyage.prod.audit;
+
+import java.util.List;
+
+// Everything one committed transaction changed -> one REVINFO row + one audit row per change
+record AuditRecord(long timestamp, List<AuditChange> changes) {
+}
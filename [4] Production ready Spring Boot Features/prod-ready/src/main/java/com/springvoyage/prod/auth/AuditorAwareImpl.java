@@ -5,6 +5,10 @@ import org.springframework.data.domain.AuditorAware;
 import java.util.Optional;
 
 public class AuditorAwareImpl implements AuditorAware<String> {
+
+//    Called by AuditingEntityListener on every save, so the (constant for now) answer is built only once
+    private static final Optional<String> CURRENT_AUDITOR = Optional.of("Abhinav");
+
     @Override
     public Optional<String> getCurrentAuditor() {
         /*
@@ -13,6 +17,6 @@ public class AuditorAwareImpl implements AuditorAware<String> {
         * Get the principle
         * Get the username
         */
-        return Optional.of("Abhinav");
+        return CURRENT_AUDITOR;
     }
 }
@@ -0,0 +1,51 @@
+package com.springvoyage.prod.configs;
+
+import com.springvoyage.prod.audit.AuditOutbox;
+import com.springvoyage.prod.audit.AuditOutboxListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/*
+audit.mode=async -> Envers keeps its audit tables and AuditReader queries, but does not register its listeners.
+Changes are captured by AuditOutboxListener instead and written to the audit tables by AuditOutbox in the background.
+audit.mode=sync -> none of this is created, Envers audits inside the request transaction as before.
+*/
+@Configuration
+@ConditionalOnProperty(value = "audit.mode", havingValue = "async")
+public class AsyncAuditConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer disableEnversListeners() {
+        return hibernateProperties -> hibernateProperties.put("hibernate.envers.autoRegisterListeners", false);
+    }
+
+    @Bean
+    AuditOutbox auditOutbox(EntityManager entityManager, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                            @Value("${audit.async.queue-capacity:10000}") int queueCapacity,
+                            @Value("${audit.async.batch-size:100}") int batchSize) {
+        return new AuditOutbox(entityManager, transactionManager, meterRegistry, queueCapacity, batchSize);
+    }
+
+    @Bean
+    AuditOutboxListener auditOutboxListener(EntityManagerFactory entityManagerFactory, AuditOutbox auditOutbox) {
+        AuditOutboxListener auditOutboxListener = new AuditOutboxListener(auditOutbox);
+        EventListenerRegistry eventListenerRegistry = entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        eventListenerRegistry.appendListeners(EventType.POST_INSERT, auditOutboxListener);
+        eventListenerRegistry.appendListeners(EventType.POST_UPDATE, auditOutboxListener);
+        eventListenerRegistry.appendListeners(EventType.POST_DELETE, auditOutboxListener);
+        return auditOutboxListener;
+    }
+}
@@ -3,15 +3,27 @@ package com.springvoyage.prod.configs;
 import com.springvoyage.prod.auth.AuditorAwareImpl;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
 @Configuration
-@EnableJpaAuditing
+@EnableJpaAuditing(dateTimeProviderRef = "auditingDateTimeProvider")
 public class AuditorConfig {
 
     @Bean
     AuditorAware<String> getAuditorAwareImpl(){
         return new AuditorAwareImpl();
     }
+
+//    Cut to microseconds like the datetime(6) columns: the lastModifiedDate kept in memory (cached PostDTO, ETag)
+//    is then exactly what the database stores and returns later
+    @Bean
+    DateTimeProvider auditingDateTimeProvider() {
+        return () -> Optional.of(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
 }
@@ -0,0 +1,28 @@
+package com.springvoyage.prod.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String POSTS_CACHE = "posts";
+
+/*  In-process Caffeine cache bounded by size and expiring after a TTL, see "posts.cache.spec".
+    "recordStats" in the spec lets actuator publish cache.gets (hit/miss), cache.puts and cache.evictions for it.
+    The manager is wrapped in TransactionAwareCacheManagerProxy: puts and evictions made inside a transaction
+    only reach the cache after the commit, so a rolled back write never leaves its value in the cache.*/
+    @Bean
+    CacheManager cacheManager(@Value("${posts.cache.spec}") String cacheSpec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(POSTS_CACHE);
+        caffeineCacheManager.setCacheSpecification(cacheSpec);
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -1,6 +1,11 @@
 package com.springvoyage.prod.configs;
 
+import com.springvoyage.prod.mappers.ModelMapperPostMapper;
+import com.springvoyage.prod.mappers.PostMapStructMapper;
+import com.springvoyage.prod.mappers.PostMapper;
+import org.mapstruct.factory.Mappers;
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,4 +15,17 @@ public class MapperConfig {
     ModelMapper modelMapper(){
         return new ModelMapper();
     }
+
+//    Default: compile-time generated mapper
+    @Bean
+    @ConditionalOnProperty(value = "mapping.strategy", havingValue = "generated", matchIfMissing = true)
+    PostMapper generatedPostMapper(){
+        return Mappers.getMapper(PostMapStructMapper.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "mapping.strategy", havingValue = "modelmapper")
+    PostMapper modelMapperPostMapper(ModelMapper modelMapper){
+        return new ModelMapperPostMapper(modelMapper);
+    }
 }
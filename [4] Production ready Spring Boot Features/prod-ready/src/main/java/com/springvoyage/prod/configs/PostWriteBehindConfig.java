@@ -0,0 +1,28 @@
+package com.springvoyage.prod.configs;
+
+import com.springvoyage.prod.services.PostService;
+import com.springvoyage.prod.writebehind.PostWriteBehindQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/*
+posts.write-mode=write-behind -> POST /posts answers 202 and PostWriteBehindQueue saves the posts in the background.
+posts.write-mode=sync -> none of this is created, the post is saved on the request thread as before.
+*/
+@Configuration
+@ConditionalOnProperty(value = "posts.write-mode", havingValue = "write-behind")
+public class PostWriteBehindConfig {
+
+    @Bean
+    PostWriteBehindQueue postWriteBehindQueue(PostService postService, MeterRegistry meterRegistry,
+                                              @Value("${posts.write-behind.queue-capacity:10000}") int queueCapacity,
+                                              @Value("${posts.write-behind.batch-size:100}") int batchSize,
+                                              @Value("${posts.write-behind.tracking-ttl:10m}") Duration trackingTtl) {
+        return new PostWriteBehindQueue(postService, meterRegistry, queueCapacity, batchSize, trackingTtl);
+    }
+}
@@ -0,0 +1,32 @@
+package com.springvoyage.prod.configs;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.IOException;
+
+/*  JCache manager behind the Hibernate second-level cache, regions come from "l2cache.config" (ehcache.xml).
+    It is built here and handed to Hibernate instead of setting hibernate.javax.cache.uri, because Hibernate
+    cannot turn a classpath URL containing spaces (like this project's folder names) into a URI.
+    Closed by Spring on shutdown, after the EntityManagerFactory that uses it.*/
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    CacheManager secondLevelCacheManager(@Value("${l2cache.config}") Resource config) throws IOException {
+        return Caching.getCachingProvider(EhcacheCachingProvider.class.getName())
+                .getCacheManager(config.getURI(), getClass().getClassLoader());
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+}
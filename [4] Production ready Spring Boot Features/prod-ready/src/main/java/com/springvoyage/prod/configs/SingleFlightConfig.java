@@ -0,0 +1,22 @@
+package com.springvoyage.prod.configs;
+
+import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.singleflight.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class SingleFlightConfig {
+
+/*  Cache misses of getPostById for the same post (a popular post right after it expired from the posts cache)
+    share one findById + mapping instead of each running their own.*/
+    @Bean
+    SingleFlight<Long, PostDTO> postLoads(MeterRegistry meterRegistry,
+                                          @Value("${posts.single-flight.timeout:5s}") Duration timeout) {
+        return new SingleFlight<>("posts", timeout, meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.springvoyage.prod.configs;
+
+import com.springvoyage.prod.audit.AuditOutboxListener;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+/*  Beans still created at startup when spring.main.lazy-initialization=true ("startup" profile):
+    - the EntityManagerFactory (Hibernate metamodel, Envers, schema creation): the most expensive part of the refresh,
+      made lazy it would only move that cost into the first request
+    - AuditOutboxListener: nothing injects it, it registers itself with Hibernate when created. Lazy, it would never
+      be created and posts would not be audited in async mode
+    Static: it is read by a BeanFactoryPostProcessor, before the other beans of this class exist.*/
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EntityManagerFactory.class, AuditOutboxListener.class);
+    }
+}
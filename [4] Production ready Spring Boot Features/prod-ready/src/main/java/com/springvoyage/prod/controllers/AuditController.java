@@ -1,34 +1,55 @@
 package com.springvoyage.prod.controllers;
 
+import com.springvoyage.prod.dto.PostRevisionDTO;
 import com.springvoyage.prod.entities.PostEntity;
-import jakarta.persistence.EntityManagerFactory;
-import org.hibernate.envers.AuditReader;
-import org.hibernate.envers.AuditReaderFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import com.springvoyage.prod.exceptions.InvalidListingRequestException;
+import com.springvoyage.prod.services.AuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
+@RequiredArgsConstructor
 @RequestMapping(path = "/audit")
 public class AuditController {
 
-    @Autowired
-    private EntityManagerFactory entityManagerFactory;
+    private final AuditService auditService;
 
+//    Revisions of a post, oldest first. Use fromRevision/toRevision to narrow the range and page/size to page through it.
     @GetMapping(path = "/posts/{postId}")
-    List<PostEntity> getPostRevisions(@PathVariable Long postId) {
-        AuditReader reader = AuditReaderFactory.get(entityManagerFactory.createEntityManager());
-
-        List<Number> revisions = reader.getRevisions(PostEntity.class, postId);
-        return revisions
-                .stream()
-                .map(revisionNumber -> reader.find(PostEntity.class, postId, revisionNumber))
-                .collect(Collectors.toList());
+    ResponseEntity<List<PostEntity>> getPostRevisions(@PathVariable Long postId,
+                                                      @RequestParam(required = false) Integer fromRevision,
+                                                      @RequestParam(required = false) Integer toRevision,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = "20") int size) {
+        checkPage(page, size);
+        return ResponseEntity.ok(auditService.getPostRevisions(postId, fromRevision, toRevision, page, size));
     }
 
-}
\ No newline at end of file
+//    Same as above with revision number/date/type. With diff=true only the fields changed by each revision are returned.
+    @GetMapping(path = "/posts/{postId}/history")
+    ResponseEntity<List<PostRevisionDTO>> getPostRevisionHistory(@PathVariable Long postId,
+                                                                 @RequestParam(required = false) Integer fromRevision,
+                                                                 @RequestParam(required = false) Integer toRevision,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "20") int size,
+                                                                 @RequestParam(defaultValue = "false") boolean diff) {
+        checkPage(page, size);
+        return ResponseEntity.ok(auditService.getPostRevisionHistory(postId, fromRevision, toRevision, page, size, diff));
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+//    page * size becomes the first result of the query: it must be neither negative nor overflow an int
+    private static void checkPage(int page, int size) {
+        if (page < 0 || size < 1 || (long) page * size > Integer.MAX_VALUE) {
+            throw new InvalidListingRequestException("Invalid page or size: page >= 0, size >= 1 and page * size <= " + Integer.MAX_VALUE);
+        }
+    }
+
+}
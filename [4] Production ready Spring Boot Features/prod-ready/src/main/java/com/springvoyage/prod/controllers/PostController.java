@@ -1,12 +1,22 @@
 package com.springvoyage.prod.controllers;
 
 import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.dto.PostFeedDTO;
+import com.springvoyage.prod.dto.PostSliceDTO;
+import com.springvoyage.prod.dto.ResourceVersionDTO;
+import com.springvoyage.prod.dto.PostSubmissionDTO;
 import com.springvoyage.prod.services.PostService;
+import com.springvoyage.prod.writebehind.PostWriteBehindQueue;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 @RestController
@@ -14,20 +24,51 @@ import java.util.List;
 public class PostController {
     private final PostService postService;
     private final ModelMapper modelMapper;
+    private final Optional<PostWriteBehindQueue> postWriteBehindQueue; // only with posts.write-mode=write-behind
 
+/*  Conditional GET: the reads first fetch only the version (row count + latest lastModifiedDate). If it matches
+    the client's If-None-Match / If-Modified-Since the answer is 304 without a body, otherwise the posts are loaded
+    and sent with the ETag / Last-Modified of exactly that body. "no-cache" makes clients revalidate every time.
+    The list has no Last-Modified: a removed post would not make it newer.*/
     @GetMapping
-    public List<PostDTO> getAllPosts(){
-        return postService.getAllPosts();
+    public ResponseEntity<List<PostDTO>> getAllPosts(WebRequest webRequest){
+        postService.assertUnboundedListingAllowed(); // refused before an ETag could answer 304 for it
+        if (webRequest.checkNotModified(postService.getPostsVersion().eTag())) return null;
+        List<PostDTO> posts = postService.getAllPosts();
+        return withVersion(posts, ResourceVersionDTO.of(posts, PostDTO::getLastModifiedDate), false);
     }
 
+//    Newest posts first, one page at a time: ?page=0&size=20 (size up to 100). hasNext tells if there is a next page.
+    @GetMapping(path = "/page")
+    public PostSliceDTO getPosts(@RequestParam(defaultValue = "0") int page,
+                                 @RequestParam(defaultValue = "20") int size){
+        return postService.getPosts(page, size);
+    }
+
+//    "Load more" feed, newest first: without a cursor the first posts, then ?cursor=<nextCursor of the previous answer>
+    @GetMapping(path = "/feed")
+    public PostFeedDTO getPostFeed(@RequestParam(required = false) String cursor,
+                                   @RequestParam(defaultValue = "20") int size){
+        return postService.getPostFeed(cursor, size);
+    }
+
+/*  sync: saved on the request thread, 200 with the saved post.
+    write-behind: only queued, 202 with a tracking id; Location points to its status (PostSubmissionController).*/
     @PostMapping
-    public PostDTO createNewPost(@RequestBody PostDTO inputPost){
-        return postService.createNewPost(inputPost);
+    public ResponseEntity<?> createNewPost(@RequestBody PostDTO inputPost){
+        if (postWriteBehindQueue.isEmpty()) return ResponseEntity.ok(postService.createNewPost(inputPost));
+        PostSubmissionDTO submission = postWriteBehindQueue.get().submit(inputPost).toDTO();
+        return ResponseEntity.accepted()
+                .location(URI.create("/posts/submissions/" + submission.getTrackingId()))
+                .body(submission);
     }
 
     @GetMapping(path = "/{postId}")
-    public PostDTO getPostById(@PathVariable Long postId){
-        return postService.getPostById(postId);
+    public ResponseEntity<PostDTO> getPostById(@PathVariable Long postId, WebRequest webRequest){
+        ResourceVersionDTO currentVersion = postService.getPostVersion(postId);
+        if (webRequest.checkNotModified(currentVersion.eTag(), currentVersion.lastModifiedMillis())) return null;
+        PostDTO post = postService.getPostById(postId);
+        return withVersion(post, ResourceVersionDTO.of(List.of(post), PostDTO::getLastModifiedDate), true);
     }
 
     @PutMapping(path = "/{postId}")
@@ -36,4 +77,18 @@ public class PostController {
 
     }
 
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private <T> ResponseEntity<T> withVersion(T body, ResourceVersionDTO version, boolean sendLastModified) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(version.eTag());
+        if (sendLastModified && version.lastModifiedMillis() >= 0) {
+            response.lastModified(version.lastModifiedMillis());
+        }
+        return response.body(body);
+    }
 }
@@ -0,0 +1,52 @@
+package com.springvoyage.prod.controllers;
+
+import com.springvoyage.prod.dto.PostSubmissionDTO;
+import com.springvoyage.prod.exceptions.ResourceNotFoundException;
+import com.springvoyage.prod.writebehind.PostSubmission;
+import com.springvoyage.prod.writebehind.PostWriteBehindQueue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+//Outcome of posts accepted in write-behind mode (202 from POST /posts), only mapped in that mode
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "/posts/submissions")
+@ConditionalOnProperty(value = "posts.write-mode", havingValue = "write-behind")
+public class PostSubmissionController {
+
+    private static final long MAX_WAIT_SECONDS = 30;
+
+    private final PostWriteBehindQueue postWriteBehindQueue;
+
+//    Poll: QUEUED, SAVED (with the post) or FAILED (with the error)
+    @GetMapping(path = "/{trackingId}")
+    public PostSubmissionDTO getSubmission(@PathVariable UUID trackingId){
+        return findSubmission(trackingId).toDTO();
+    }
+
+/*  Subscribe (long polling): answered as soon as the post is saved or failed, or after "waitSeconds" with QUEUED.
+    The request thread is released while waiting, the response is written from the writer's thread.*/
+    @GetMapping(path = "/{trackingId}/completion")
+    public CompletableFuture<PostSubmissionDTO> awaitSubmission(@PathVariable UUID trackingId,
+                                                                @RequestParam(defaultValue = "30") long waitSeconds){
+        PostSubmission submission = findSubmission(trackingId);
+        return submission.result()
+                .handle((savedPost, error) -> submission.toDTO())
+                .completeOnTimeout(submission.toDTO(), Math.clamp(waitSeconds, 0, MAX_WAIT_SECONDS), TimeUnit.SECONDS);
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private PostSubmission findSubmission(UUID trackingId) {
+        return postWriteBehindQueue.findSubmission(trackingId)
+                .orElseThrow(() -> new ResourceNotFoundException("This submission was not found"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.springvoyage.prod.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,5 +20,9 @@ public class PostDTO {
 
     private LocalDateTime createdAt;
 
+//    Set by auditing, sent to clients (ETag / Last-Modified of the post) but never read from a request
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime lastModifiedDate;
+
 
 }
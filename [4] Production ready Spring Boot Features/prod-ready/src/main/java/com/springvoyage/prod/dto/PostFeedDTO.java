@@ -0,0 +1,13 @@
+package com.springvoyage.prod.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/*
+One "load more" step of the post feed, newest first.
+nextCursor is opaque to clients: it is sent back as ?cursor= to get the posts after the last one of this step,
+null when there are none.
+*/
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PostFeedDTO(List<PostDTO> posts, String nextCursor) {}
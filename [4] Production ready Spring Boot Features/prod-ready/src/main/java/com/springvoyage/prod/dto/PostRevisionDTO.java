@@ -0,0 +1,29 @@
+package com.springvoyage.prod.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.springvoyage.prod.entities.PostEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.envers.RevisionType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostRevisionDTO {
+    private Number revision;
+    private LocalDateTime revisionDate;
+    private RevisionType revisionType;
+
+//    Full snapshot of the post, only filled when the diff is not requested
+    private PostEntity post;
+
+//    Fields that changed compared to the previous revision, only filled when the diff is requested
+    private Map<String, Object> changes;
+}
@@ -0,0 +1,9 @@
+package com.springvoyage.prod.dto;
+
+import java.util.List;
+
+/*
+One page of posts, newest first. hasNext comes from reading one post more than the page size,
+so there is no COUNT(*) query and no total: clients page until hasNext is false.
+*/
+public record PostSliceDTO(List<PostDTO> posts, int page, int size, boolean hasNext) {}
@@ -0,0 +1,27 @@
+package com.springvoyage.prod.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostSubmissionDTO {
+
+    public enum Status { QUEUED, SAVED, FAILED }
+
+    private UUID trackingId;
+    private Status status;
+    private LocalDateTime acceptedAt;
+
+    private PostDTO post;   // SAVED: the post as stored, with its id
+    private String error;   // FAILED: why it could not be saved
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.envers.Audited;
 import org.hibernate.envers.NotAudited;
@@ -16,8 +18,13 @@ import java.time.LocalDateTime;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "posts")
+//Newest-first listings (PostRepo.findAllBy / findFeed / findFeedAfter) sort and seek on (created_at, id)
+@Table(name = "posts", indexes = @Index(name = "idx_posts_created_at_id", columnList = "created_at DESC, id DESC"))
 @Audited
+@Cacheable
+//Second-level cache region "posts" (ehcache.xml). READ_WRITE soft-locks the entry while a transaction updates the post,
+//so other sessions read it from MySQL until the commit puts the new state back
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "posts")
 public class PostEntity extends AuditableEntity{
 
     @Id
@@ -29,6 +36,7 @@ public class PostEntity extends AuditableEntity{
     private String description;
 
     @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
 
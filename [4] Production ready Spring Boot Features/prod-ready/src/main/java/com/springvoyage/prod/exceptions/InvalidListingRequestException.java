@@ -0,0 +1,7 @@
+package com.springvoyage.prod.exceptions;
+
+public class InvalidListingRequestException extends RuntimeException{
+    public InvalidListingRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.springvoyage.prod.exceptions;
+
+public class ServiceBusyException extends RuntimeException{
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,66 @@
+package com.springvoyage.prod.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/*
+Only active when requests run on virtual threads (spring.threads.virtual.enabled=true).
+Tomcat then no longer caps the number of requests in flight with its thread pool, so thousands of requests could
+queue on the connection pool at once. This filter puts that cap back: at most "requests.max-concurrent" requests
+are processed together, the others wait up to "requests.acquire-timeout" and are then rejected with 503.
+
+Here it caps the post, feed and audit endpoints in front of the 20 pooled connections; Envers reads and the
+synchronous audit writes make every request hold its connection longer. Copied from mvc-restful-api, the modules
+are separate builds with nothing shared: change both copies together.
+*/
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+
+    public ConcurrencyLimitFilter(@Value("${requests.max-concurrent:100}") int maxConcurrentRequests,
+                                  @Value("${requests.acquire-timeout:2s}") Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!acquirePermit()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many concurrent requests");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.springvoyage.prod.mappers;
+
+import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.entities.PostEntity;
+import lombok.RequiredArgsConstructor;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+public class ModelMapperPostMapper implements PostMapper {
+    private final ModelMapper modelMapper;
+
+    @Override
+    public PostDTO toDTO(PostEntity postEntity) {
+        return modelMapper.map(postEntity, PostDTO.class);
+    }
+
+    @Override
+    public PostEntity toEntity(PostDTO postDTO) {
+        return modelMapper.map(postDTO, PostEntity.class);
+    }
+
+    @Override
+    public void updateEntity(PostDTO postDTO, PostEntity postEntity) {
+        LocalDateTime createdAt = postEntity.getCreatedAt();
+        modelMapper.map(postDTO, postEntity);
+        postEntity.setCreatedAt(createdAt); // set once on insert, never from a request (see PostMapStructMapper)
+    }
+}
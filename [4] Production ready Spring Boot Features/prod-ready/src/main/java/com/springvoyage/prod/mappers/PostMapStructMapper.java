@@ -0,0 +1,21 @@
+package com.springvoyage.prod.mappers;
+
+import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.entities.PostEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.ReportingPolicy;
+
+//MapStruct generates PostMapStructMapperImpl while compiling, so no reflection is used at runtime.
+//The auditing fields of PostEntity are not part of PostDTO, hence unmapped targets are ignored.
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface PostMapStructMapper extends PostMapper {
+
+//    createdAt is set once on insert: a PUT body never carries it, copying its null would leave the managed entity
+//    (and the DTO, the posts cache and the L2 "posts" region built from it) without the date the feed is keyed on
+    @Override
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    void updateEntity(PostDTO postDTO, @MappingTarget PostEntity postEntity);
+}
@@ -0,0 +1,20 @@
+package com.springvoyage.prod.mappers;
+
+import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.entities.PostEntity;
+
+/*
+Converts between PostEntity and PostDTO.
+The implementation is picked in MapperConfig using the "mapping.strategy" property:
+    generated   -> PostMapStructMapper (plain getter/setter code generated at compile time)
+    modelmapper -> ModelMapperPostMapper (reflective ModelMapper)
+*/
+public interface PostMapper {
+
+    PostDTO toDTO(PostEntity postEntity);
+
+    PostEntity toEntity(PostDTO postDTO);
+
+//    Copies the DTO fields onto an already loaded entity, except createdAt which never changes after the insert
+    void updateEntity(PostDTO postDTO, PostEntity postEntity);
+}
@@ -0,0 +1,71 @@
+package com.springvoyage.prod.metrics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+/actuator/l2cache -> hits, misses, puts and hit ratio of every Hibernate second-level cache region
+(entity regions from ehcache.xml plus the query cache), /actuator/l2cache/{region} -> one region.
+Counted since startup from the Hibernate statistics (hibernate.generate_statistics).
+
+Here the regions are "posts" and the two query cache regions, sized in this module's ehcache.xml; the feed and
+listing queries are the ones expected to hit the query cache. mvc-restful-api has a copy for its "employees" region:
+the modules are separate builds with nothing shared, change both copies together.
+*/
+@Component
+@Endpoint(id = "l2cache")
+public class SecondLevelCacheEndpoint {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> regions() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .forEach(regionName -> regions.put(regionName, region(regionName)));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", statistics.isStatisticsEnabled());
+        report.put("regions", regions);
+        report.put("queryCache", counters(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount()));
+        return report;
+    }
+
+    @ReadOperation
+    public Map<String, Object> region(@Selector String regionName) {
+        // Asking Hibernate for an unknown region would try to create it, so check the name first -> 404
+        if (!Arrays.asList(statistics.getSecondLevelCacheRegionNames()).contains(regionName)) return null;
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(regionName);
+        return counters(regionStatistics.getHitCount(), regionStatistics.getMissCount(), regionStatistics.getPutCount());
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private Map<String, Object> counters(long hits, long misses, long puts) {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("hits", hits);
+        counters.put("misses", misses);
+        counters.put("puts", puts);
+        counters.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return counters;
+    }
+}
@@ -1,9 +1,51 @@
 package com.springvoyage.prod.repo;
 
+import com.springvoyage.prod.dto.ResourceVersionDTO;
 import com.springvoyage.prod.entities.PostEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface PostRepo extends JpaRepository<PostEntity, Long> {
+
+//    Query cache: the ids of the result are kept in "default-query-results-region" and the posts come from the
+//    "posts" region. Any write to the posts table (through Hibernate) invalidates the cached result.
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<PostEntity> findAll();
+
+//    Paged listing: a Slice reads one row more than the page to know if there is a next page, there is no count query.
+//    Sorted by the caller (createdAt, id), served by the idx_posts_created_at_id index.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Slice<PostEntity> findAllBy(Pageable pageable);
+
+//    Keyset ("load more") feed: first step, then the posts after the last (createdAt, id) seen. Seeks into the
+//    idx_posts_created_at_id index at that position, so a deep step costs the same as the first one.
+    @Query("select p from PostEntity p order by p.createdAt desc, p.id desc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<PostEntity> findFeed(Limit limit);
+
+    @Query("select p from PostEntity p where p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id) " +
+            "order by p.createdAt desc, p.id desc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<PostEntity> findFeedAfter(LocalDateTime createdAt, Long id, Limit limit);
+
+//    Version-only queries for conditional GETs: one aggregate row, also served from the query cache until posts change
+    @Query("select new com.springvoyage.prod.dto.ResourceVersionDTO(count(p), max(p.lastModifiedDate)) from PostEntity p where p.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ResourceVersionDTO findVersionById(Long id);
+
+    @Query("select new com.springvoyage.prod.dto.ResourceVersionDTO(count(p), max(p.lastModifiedDate)) from PostEntity p")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ResourceVersionDTO findVersion();
 }
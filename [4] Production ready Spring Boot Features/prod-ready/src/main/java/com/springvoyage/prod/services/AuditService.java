@@ -0,0 +1,14 @@
+package com.springvoyage.prod.services;
+
+import com.springvoyage.prod.dto.PostRevisionDTO;
+import com.springvoyage.prod.entities.PostEntity;
+
+import java.util.List;
+
+public interface AuditService {
+
+    List<PostEntity> getPostRevisions(Long postId, Integer fromRevision, Integer toRevision, int page, int size);
+
+    List<PostRevisionDTO> getPostRevisionHistory(Long postId, Integer fromRevision, Integer toRevision,
+                                                 int page, int size, boolean diffOnly);
+}
@@ -1,16 +1,32 @@
 package com.springvoyage.prod.services;
 
 import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.dto.PostFeedDTO;
+import com.springvoyage.prod.dto.PostSliceDTO;
+import com.springvoyage.prod.dto.ResourceVersionDTO;
 
 import java.util.List;
 
 public interface PostService {
 
+//    Throws InvalidListingRequestException when getAllPosts is switched off (posts.listing.allow-unbounded=false)
+    void assertUnboundedListingAllowed();
+
     List<PostDTO> getAllPosts();
 
+    PostSliceDTO getPosts(int page, int size);
+
+    PostFeedDTO getPostFeed(String cursor, int size);
+
     PostDTO createNewPost(PostDTO inputPost);
 
+    List<PostDTO> createNewPosts(List<PostDTO> inputPosts);
+
     PostDTO getPostById(Long postId);
 
     PostDTO updatePostById(Long postId, PostDTO inputPost);
+
+    ResourceVersionDTO getPostVersion(Long postId);
+
+    ResourceVersionDTO getPostsVersion();
 }
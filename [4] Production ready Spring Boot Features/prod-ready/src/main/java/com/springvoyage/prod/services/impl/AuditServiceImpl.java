@@ -0,0 +1,129 @@
+package com.springvoyage.prod.services.impl;
+
+import com.springvoyage.prod.dto.PostRevisionDTO;
+import com.springvoyage.prod.entities.PostEntity;
+import com.springvoyage.prod.services.AuditService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.envers.DefaultRevisionEntity;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.envers.query.AuditEntity;
+import org.hibernate.envers.query.AuditQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+
+/*
+Reads the revision history of posts with one Envers AuditQuery per call.
+The query joins posts_AUD with REVINFO, so the entity state, the revision number/date and the revision type
+of a whole page come back from a single SQL statement instead of one find() per revision.
+The EntityManager is the shared, transaction-bound one: Spring opens and closes it around each read-only transaction.
+*/
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AuditServiceImpl implements AuditService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+//    Audited fields of a post, compared one by one to build the diff between two revisions
+    private static final Map<String, Function<PostEntity, Object>> AUDITED_FIELDS = new LinkedHashMap<>();
+
+    static {
+        AUDITED_FIELDS.put("description", PostEntity::getDescription);
+        AUDITED_FIELDS.put("createdAt", PostEntity::getCreatedAt);
+        AUDITED_FIELDS.put("createdDate", PostEntity::getCreatedDate);
+        AUDITED_FIELDS.put("createdBy", PostEntity::getCreatedBy);
+        AUDITED_FIELDS.put("lastModifiedDate", PostEntity::getLastModifiedDate);
+        AUDITED_FIELDS.put("lastModifiedBy", PostEntity::getLastModifiedBy);
+    }
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<PostEntity> getPostRevisions(Long postId, Integer fromRevision, Integer toRevision, int page, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        return findRevisions(postId, fromRevision, toRevision, page * pageSize, pageSize)
+                .stream()
+                .map(row -> (PostEntity) row[0])
+                .toList();
+    }
+
+    @Override
+    public List<PostRevisionDTO> getPostRevisionHistory(Long postId, Integer fromRevision, Integer toRevision,
+                                                        int page, int size, boolean diffOnly) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        int firstResult = page * pageSize;
+
+        if (!diffOnly) {
+            return findRevisions(postId, fromRevision, toRevision, firstResult, pageSize)
+                    .stream()
+                    .map(row -> toRevisionDTO(row, (PostEntity) row[0], null))
+                    .toList();
+        }
+
+        // For a diff the last revision of the previous page is needed as the baseline, so it is read in the same query.
+        // The first revision of the range has no baseline and lists all of its fields.
+        boolean hasBaseline = firstResult > 0;
+        List<Object[]> rows = hasBaseline
+                ? findRevisions(postId, fromRevision, toRevision, firstResult - 1, pageSize + 1)
+                : findRevisions(postId, fromRevision, toRevision, firstResult, pageSize);
+
+        List<PostRevisionDTO> history = new ArrayList<>(pageSize);
+        PostEntity previous = null;
+        for (int i = 0; i < rows.size(); i++) {
+            PostEntity current = (PostEntity) rows.get(i)[0];
+            if (i > 0 || !hasBaseline) {
+                history.add(toRevisionDTO(rows.get(i), null, diff(previous, current)));
+            }
+            previous = current;
+        }
+        return history;
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+//    Every row is {PostEntity, DefaultRevisionEntity, RevisionType}
+    @SuppressWarnings("unchecked")
+    private List<Object[]> findRevisions(Long postId, Integer fromRevision, Integer toRevision, int firstResult, int maxResults) {
+        AuditQuery query = AuditReaderFactory.get(entityManager)
+                .createQuery()
+                .forRevisionsOfEntity(PostEntity.class, false, true)
+                .add(AuditEntity.id().eq(postId));
+        if (fromRevision != null) query.add(AuditEntity.revisionNumber().ge(fromRevision));
+        if (toRevision != null) query.add(AuditEntity.revisionNumber().le(toRevision));
+
+        return query
+                .addOrder(AuditEntity.revisionNumber().asc())
+                .setFirstResult(firstResult)
+                .setMaxResults(maxResults)
+                .getResultList();
+    }
+
+    private PostRevisionDTO toRevisionDTO(Object[] row, PostEntity post, Map<String, Object> changes) {
+        DefaultRevisionEntity revisionEntity = (DefaultRevisionEntity) row[1];
+        LocalDateTime revisionDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(revisionEntity.getTimestamp()), ZoneId.systemDefault());
+        return new PostRevisionDTO(revisionEntity.getId(), revisionDate, (RevisionType) row[2], post, changes);
+    }
+
+    private Map<String, Object> diff(PostEntity previous, PostEntity current) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        AUDITED_FIELDS.forEach((field, getter) -> {
+            Object currentValue = getter.apply(current);
+            Object previousValue = previous == null ? null : getter.apply(previous);
+            if (!Objects.equals(previousValue, currentValue)) {
+                changes.put(field, currentValue);
+            }
+        });
+        return changes;
+    }
+}
@@ -0,0 +1,38 @@
+package com.springvoyage.prod.services.impl;
+
+import com.springvoyage.prod.entities.PostEntity;
+import com.springvoyage.prod.exceptions.InvalidListingRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/*
+Position in the post feed: the (createdAt, id) of the last post a client got.
+Encoded as "<createdAt UTC seconds>.<nanos>.<id>", base64url so clients treat it as opaque.
+*/
+record PostFeedCursor(LocalDateTime createdAt, Long id) {
+
+    static PostFeedCursor of(PostEntity post) {
+        return new PostFeedCursor(post.getCreatedAt(), post.getId());
+    }
+
+    String encode() {
+        String position = createdAt.toEpochSecond(ZoneOffset.UTC) + "." + createdAt.getNano() + "." + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+//    Anything this class did not encode is an InvalidListingRequestException (400)
+    static PostFeedCursor decode(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\.");
+            if (position.length != 3) throw new IllegalArgumentException(cursor);
+            return new PostFeedCursor(
+                    LocalDateTime.ofEpochSecond(Long.parseLong(position[0]), Integer.parseInt(position[1]), ZoneOffset.UTC),
+                    Long.parseLong(position[2]));
+        } catch (RuntimeException e) {
+            throw new InvalidListingRequestException("Invalid cursor");
+        }
+    }
+}
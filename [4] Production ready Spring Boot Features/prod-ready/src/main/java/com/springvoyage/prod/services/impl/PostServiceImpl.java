@@ -1,55 +1,150 @@
 package com.springvoyage.prod.services.impl;
 
+import com.springvoyage.prod.configs.CacheConfig;
 import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.dto.PostFeedDTO;
+import com.springvoyage.prod.dto.PostSliceDTO;
+import com.springvoyage.prod.dto.ResourceVersionDTO;
 import com.springvoyage.prod.entities.PostEntity;
+import com.springvoyage.prod.exceptions.InvalidListingRequestException;
 import com.springvoyage.prod.exceptions.ResourceNotFoundException;
+import com.springvoyage.prod.mappers.PostMapper;
 import com.springvoyage.prod.repo.PostRepo;
 import com.springvoyage.prod.services.PostService;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import com.springvoyage.prod.singleflight.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class PostServiceImpl implements PostService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final PostRepo postRepo;
-    private final ModelMapper modelMapper;
+    private final PostMapper postMapper;
+    private final SingleFlight<Long, PostDTO> postLoads;
+    private final boolean unboundedListingAllowed;
+
+    public PostServiceImpl(PostRepo postRepo, PostMapper postMapper, SingleFlight<Long, PostDTO> postLoads,
+                           @Value("${posts.listing.allow-unbounded:true}") boolean unboundedListingAllowed) {
+        this.postRepo = postRepo;
+        this.postMapper = postMapper;
+        this.postLoads = postLoads;
+        this.unboundedListingAllowed = unboundedListingAllowed;
+    }
+
+//    Every post in one response: its cost grows with the table. Refused when posts.listing.allow-unbounded=false
+//    ("prod" profile), clients use getPosts / getPostFeed instead.
+    @Override
+    public void assertUnboundedListingAllowed() {
+        if (!unboundedListingAllowed) {
+            throw new InvalidListingRequestException("Listing all posts is disabled, use /posts/page or /posts/feed");
+        }
+    }
 
     @Override
     public List<PostDTO> getAllPosts() {
+        assertUnboundedListingAllowed();
         return postRepo.findAll()
                 .stream()
-                .map(postEntity -> modelMapper.map(postEntity, PostDTO.class))
+                .map(postMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+//    Newest first. Only the requested page (and one post to know about the next one) is read, without COUNT(*).
+//    The offset is still skipped row by row by the database: deep pages get slower, the feed below does not.
+    @Override
+    public PostSliceDTO getPosts(int page, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        Slice<PostDTO> posts = postRepo.findAllBy(PageRequest.of(Math.max(page, 0), pageSize, NEWEST_FIRST))
+                .map(postMapper::toDTO);
+        return new PostSliceDTO(posts.getContent(), posts.getNumber(), pageSize, posts.hasNext());
+    }
+
+//    Keyset pagination: the cursor is the (createdAt, id) of the last post returned, the next step starts right
+//    after it. Posts created meanwhile do not shift the steps, and each step costs the same however deep it is.
+    @Override
+    public PostFeedDTO getPostFeed(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        List<PostEntity> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = postRepo.findFeed(limit);
+        } else {
+            PostFeedCursor after = PostFeedCursor.decode(cursor);
+            posts = postRepo.findFeedAfter(after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = posts.size() > pageSize;
+        List<PostEntity> step = hasNext ? posts.subList(0, pageSize) : posts;
+        String nextCursor = hasNext ? PostFeedCursor.of(step.getLast()).encode() : null;
+        return new PostFeedDTO(step.stream().map(postMapper::toDTO).collect(Collectors.toList()), nextCursor);
+    }
+
     @Override
+    @CachePut(cacheNames = CacheConfig.POSTS_CACHE, key = "#result.id")
     public PostDTO createNewPost(PostDTO inputPost) {
-        PostEntity toSaveEntityPost = modelMapper.map(inputPost, PostEntity.class);
+        PostEntity toSaveEntityPost = postMapper.toEntity(inputPost);
         PostEntity savedEntityPost = postRepo.save(toSaveEntityPost);
-        return modelMapper.map(savedEntityPost, PostDTO.class);
+        return postMapper.toDTO(savedEntityPost);
 
     }
 
+//    Write-behind batches (PostWriteBehindQueue): saveAll is one transaction for the whole batch. The posts are not
+//    put into the posts cache here, getPostById loads them on the first read.
     @Override
+    public List<PostDTO> createNewPosts(List<PostDTO> inputPosts) {
+        List<PostEntity> toSaveEntityPosts = inputPosts.stream()
+                .map(postMapper::toEntity)
+                .collect(Collectors.toList());
+        return postRepo.saveAll(toSaveEntityPosts)
+                .stream()
+                .map(postMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+//    Concurrent misses for the same post share one load (SingleFlightConfig), a missing post fails all of them
+    @Override
+    @Cacheable(cacheNames = CacheConfig.POSTS_CACHE, key = "#postId")
     public PostDTO getPostById(Long postId) {
-        PostEntity postEntity = postRepo
-                .findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("This post was not found"));
-        return modelMapper.map(postEntity, PostDTO.class);
+        return postLoads.load(postId, () -> {
+            PostEntity postEntity = postRepo
+                    .findById(postId)
+                    .orElseThrow(() -> new ResourceNotFoundException("This post was not found"));
+            return postMapper.toDTO(postEntity);
+        });
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfig.POSTS_CACHE, key = "#postId")
     public PostDTO updatePostById(Long postId, PostDTO inputPost) {
         PostEntity olderPost = postRepo
                 .findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("This post was not found."));
         inputPost.setId(postId);
-        modelMapper.map(inputPost, olderPost);
-        return modelMapper.map(postRepo.save(olderPost), PostDTO.class);
+        postMapper.updateEntity(inputPost, olderPost);
+        return postMapper.toDTO(postRepo.save(olderPost));
+    }
+
+    @Override
+    public ResourceVersionDTO getPostVersion(Long postId) {
+        ResourceVersionDTO version = postRepo.findVersionById(postId);
+        if (!version.exists()) throw new ResourceNotFoundException("This post was not found");
+        return version;
+    }
+
+    @Override
+    public ResourceVersionDTO getPostsVersion() {
+        return postRepo.findVersion();
     }
 }
@@ -0,0 +1,106 @@
+package com.springvoyage.prod.singleflight;
+
+import com.springvoyage.prod.exceptions.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+Request coalescing: concurrent load(key, ...) calls for the same key share one load.
+The first caller (the leader) registers a flight for the key and runs the loader on its own thread; callers arriving
+while it runs join the flight and get the same value, or the same exception, instead of repeating the query.
+The flight is dropped once it completed, the next call loads again: nothing is cached here, that is the cache's job.
+No lock is held while loading: joining is one putIfAbsent on a ConcurrentHashMap.
+Joined callers wait at most "timeout" and then get a ServiceBusyException (503 + Retry-After).
+
+Metrics, tagged with name: single-flight.loads (flights run), single-flight.coalesced (calls that joined one),
+single-flight.timeouts, single-flight.in-flight (keys loading right now) and single-flight.shared (callers per flight).
+Coalescing ratio = coalesced / (loads + coalesced).
+
+Here it coalesces the getPostById misses of the "posts" cache (SingleFlightConfig), so a burst of reads for one
+post that just expired runs one findById. mvc-restful-api has a copy for getEmployeeById: the modules are separate
+builds with nothing shared, change both copies together. SingleFlightTests here covers the class for both.
+*/
+public class SingleFlight<K, V> {
+
+    private record Flight<V>(CompletableFuture<V> result, AtomicInteger callers) {}
+
+    private final String name;
+    private final long timeoutMillis;
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final Counter loads;
+    private final Counter coalesced;
+    private final Counter timeouts;
+    private final DistributionSummary shared;
+
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.timeoutMillis = timeout.toMillis();
+        this.loads = meterRegistry.counter("single-flight.loads", "name", name);
+        this.coalesced = meterRegistry.counter("single-flight.coalesced", "name", name);
+        this.timeouts = meterRegistry.counter("single-flight.timeouts", "name", name);
+        this.shared = DistributionSummary.builder("single-flight.shared")
+                .description("Callers served by one load")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("single-flight.in-flight", flights, Map::size)
+                .description("Keys being loaded right now")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        Flight<V> flight = new Flight<>(new CompletableFuture<>(), new AtomicInteger(1));
+        Flight<V> running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            running.callers().incrementAndGet();
+            coalesced.increment();
+            return await(running);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            flight.result().complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+            shared.record(flight.callers().get());
+        }
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private V await(Flight<V> flight) {
+        try {
+            return flight.result().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new ServiceBusyException("Still loading " + name + ", try again");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while loading " + name);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.springvoyage.prod.writebehind;
+
+import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.dto.PostSubmissionDTO;
+import org.springframework.core.NestedExceptionUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+// One accepted post: completed with the saved post once a batch containing it committed, or with the error
+public record PostSubmission(UUID trackingId, PostDTO post, long acceptedAt, CompletableFuture<PostDTO> result) {
+
+    PostSubmission(PostDTO post) {
+        this(UUID.randomUUID(), post, System.currentTimeMillis(), new CompletableFuture<>());
+    }
+
+    public PostSubmissionDTO toDTO() {
+        PostSubmissionDTO submissionDTO = new PostSubmissionDTO();
+        submissionDTO.setTrackingId(trackingId);
+        submissionDTO.setAcceptedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(acceptedAt), ZoneId.systemDefault()));
+        if (!result.isDone()) {
+            submissionDTO.setStatus(PostSubmissionDTO.Status.QUEUED);
+        } else if (result.isCompletedExceptionally()) {
+            submissionDTO.setStatus(PostSubmissionDTO.Status.FAILED);
+            // First line only, some drivers append the whole SQL statement
+            String error = String.valueOf(NestedExceptionUtils.getMostSpecificCause(result.exceptionNow()).getMessage());
+            submissionDTO.setError(error.lines().findFirst().orElse(error));
+        } else {
+            submissionDTO.setStatus(PostSubmissionDTO.Status.SAVED);
+            submissionDTO.setPost(result.resultNow());
+        }
+        return submissionDTO;
+    }
+}
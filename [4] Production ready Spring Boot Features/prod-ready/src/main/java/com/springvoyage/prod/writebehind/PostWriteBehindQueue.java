@@ -0,0 +1,200 @@
+package com.springvoyage.prod.writebehind;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.exceptions.ServiceBusyException;
+import com.springvoyage.prod.services.PostService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+Write-behind for new posts (posts.write-mode=write-behind).
+
+POST /posts only puts the post into a bounded in-memory queue and answers 202 with a tracking id. A single background
+worker saves the queued posts in batches through PostService.createNewPosts: one transaction, so one pooled
+connection, per batch instead of per request. If a batch fails its posts are retried one by one, so only the
+invalid ones end up FAILED (all of them while the database is down, clients can then submit again).
+When the queue is full new posts are rejected with 503 + Retry-After.
+The queue stops after the web server (see getPhase), so requests still in flight during a shutdown are saved too.
+Accepted posts still queued when the JVM dies are lost -> keep posts.write-mode=sync where that matters.
+
+Clients poll GET /posts/submissions/{trackingId} or wait on .../completion (see PostSubmissionController).
+Outcomes are kept for "posts.write-behind.tracking-ttl" after the post was accepted.
+
+Metrics: posts.write-behind.depth (posts waiting), posts.write-behind.lag (age of the oldest waiting post),
+posts.write-behind.saved, posts.write-behind.failed, posts.write-behind.rejected (queue full),
+posts.write-behind.write (time per batch transaction)
+*/
+@Slf4j
+public class PostWriteBehindQueue implements SmartLifecycle {
+
+    private final BlockingQueue<PostSubmission> queue;
+    private final Cache<UUID, PostSubmission> submissions;
+    private final PostService postService;
+    private final int batchSize;
+    private final Counter saved;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Timer writeTimer;
+
+    // Read: check running + offer in submit. Write: stop(). No post can be queued after the worker's last drain
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread worker;
+
+    public PostWriteBehindQueue(PostService postService, MeterRegistry meterRegistry,
+                                int queueCapacity, int batchSize, Duration trackingTtl) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        // Bounded too: at most ten full queues of outcomes nobody asked for yet
+        this.submissions = Caffeine.newBuilder()
+                .expireAfterWrite(trackingTtl)
+                .maximumSize(queueCapacity * 10L)
+                .build();
+        this.postService = postService;
+        this.batchSize = batchSize;
+
+        Gauge.builder("posts.write-behind.depth", queue, BlockingQueue::size)
+                .description("Accepted posts waiting to be saved")
+                .register(meterRegistry);
+        TimeGauge.builder("posts.write-behind.lag", this, TimeUnit.MILLISECONDS, PostWriteBehindQueue::lagMillis)
+                .description("Age of the oldest accepted post waiting to be saved")
+                .register(meterRegistry);
+        this.saved = meterRegistry.counter("posts.write-behind.saved");
+        this.failed = meterRegistry.counter("posts.write-behind.failed");
+        this.rejected = meterRegistry.counter("posts.write-behind.rejected");
+        this.writeTimer = meterRegistry.timer("posts.write-behind.write");
+    }
+
+    public PostSubmission submit(PostDTO inputPost) {
+        PostSubmission submission = new PostSubmission(inputPost);
+        runningLock.readLock().lock();
+        try {
+            if (!running || !queue.offer(submission)) {
+                rejected.increment();
+                throw new ServiceBusyException("Too many posts waiting to be saved, retry later");
+            }
+        } finally {
+            runningLock.readLock().unlock();
+        }
+        submissions.put(submission.trackingId(), submission);
+        return submission;
+    }
+
+    public Optional<PostSubmission> findSubmission(UUID trackingId) {
+        return Optional.ofNullable(submissions.getIfPresent(trackingId));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("posts-write-behind").daemon().start(this::drainLoop);
+    }
+
+//    Stops accepting posts and lets the worker save what is still queued. Posts it could not save in time are
+//    marked FAILED instead of staying QUEUED forever.
+    @Override
+    public void stop() {
+        runningLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<PostSubmission> unsaved = new ArrayList<>();
+        queue.drainTo(unsaved);
+        if (unsaved.isEmpty()) return;
+        log.error("Shutting down with {} posts not saved", unsaved.size());
+        unsaved.forEach(submission -> submission.result().completeExceptionally(
+                new ServiceBusyException("Shut down before the post was saved, submit it again")));
+        failed.increment(unsaved.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+/*  Lower phase = started earlier and stopped later. Below the web server's lifecycles (graceful shutdown at
+    DEFAULT_PHASE - 1024, stop at DEFAULT_PHASE - 2048), so no request can submit a post after the final drain.
+    Above the AuditOutbox, which still has to write the audit records of the last batches.*/
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 2048 - 1;
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private void drainLoop() {
+        List<PostSubmission> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PostSubmission first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PostSubmission> batch) {
+        List<PostDTO> savedPosts;
+        try {
+            savedPosts = writeTimer.record(() -> postService.createNewPosts(batch.stream().map(PostSubmission::post).toList()));
+        } catch (RuntimeException e) {
+            log.warn("Saving a batch of {} posts failed, saving them one by one", batch.size(), e);
+            batch.forEach(this::writeOne);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(savedPosts.get(i));
+        }
+        saved.increment(batch.size());
+    }
+
+    private void writeOne(PostSubmission submission) {
+        try {
+            submission.result().complete(postService.createNewPost(submission.post()));
+            saved.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            submission.result().completeExceptionally(e);
+        }
+    }
+
+    private double lagMillis() {
+        PostSubmission oldest = queue.peek();
+        return oldest == null ? 0 : System.currentTimeMillis() - oldest.acceptedAt();
+    }
+}
@@ -0,0 +1,157 @@
+package com.springvoyage.prod.audit;
+
+import com.springvoyage.prod.entities.PostEntity;
+import com.springvoyage.prod.repo.PostRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.envers.query.AuditEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+audit.mode=async: the changes of one transaction reach the audit tables as Envers would have written them.
+Several changes of a post in one transaction collapse into one revision (ADD + MOD -> ADD with the final state,
+ADD + DEL -> nothing, MOD + MOD -> one MOD) and a rolled back transaction leaves no revision at all.
+The outbox writes in the background: each test commits one more post afterwards and waits for its revision,
+the single worker writes in commit order so everything before it is written too.
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:audit;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "audit.mode=async"
+})
+class AuditOutboxTests {
+
+    @Autowired
+    private PostRepo postRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void addThenModifyIsOneAddWithTheFinalState() throws Exception {
+        double written = revisionsWritten();
+
+        Long postId = inTransaction(() -> {
+            PostEntity post = postRepo.save(newPost("draft"));
+            post.setDescription("final");
+            postRepo.flush();
+            return post.getId();
+        });
+        awaitRevisions(written, 1);
+
+        List<Object[]> revisions = revisionsOf(postId);
+        assertThat(revisions).hasSize(1);
+        assertThat(revisions.getFirst()[2]).isEqualTo(RevisionType.ADD);
+        assertThat(((PostEntity) revisions.getFirst()[0]).getDescription()).isEqualTo("final");
+    }
+
+    @Test
+    void addThenDeleteLeavesNoRevision() throws Exception {
+        double written = revisionsWritten();
+
+        Long postId = inTransaction(() -> {
+            PostEntity post = postRepo.save(newPost("short lived"));
+            postRepo.delete(post);
+            postRepo.flush();
+            return post.getId();
+        });
+        awaitRevisions(written, 0);
+
+        assertThat(revisionsOf(postId)).isEmpty();
+    }
+
+    @Test
+    void modifyTwiceIsOneMod() throws Exception {
+        double written = revisionsWritten();
+
+        Long postId = inTransaction(() -> postRepo.save(newPost("first")).getId());
+        inTransaction(() -> {
+            PostEntity post = postRepo.findById(postId).orElseThrow();
+            post.setDescription("second");
+            postRepo.flush();
+            post.setDescription("third");
+            return null;
+        });
+        awaitRevisions(written, 2);
+
+        List<Object[]> revisions = revisionsOf(postId);
+        assertThat(revisions.stream().map(revision -> revision[2]).toList()).containsExactly(RevisionType.ADD, RevisionType.MOD);
+        assertThat(((PostEntity) revisions.getLast()[0]).getDescription()).isEqualTo("third");
+    }
+
+    @Test
+    void rolledBackTransactionLeavesNoRevision() throws Exception {
+        double written = revisionsWritten();
+
+        Long postId = new TransactionTemplate(transactionManager).execute(status -> {
+            PostEntity post = postRepo.save(newPost("rolled back"));
+            status.setRollbackOnly();
+            return post.getId();
+        });
+        awaitRevisions(written, 0);
+
+        assertThat(revisionsOf(postId)).isEmpty();
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    private static PostEntity newPost(String description) {
+        PostEntity post = new PostEntity();
+        post.setTitle("Audited post");
+        post.setDescription(description);
+        return post;
+    }
+
+    private double revisionsWritten() {
+        return meterRegistry.get("audit.outbox.revisions").counter().count();
+    }
+
+//    Commits one more post and waits until the outbox has written it: the records before it are written by then
+    private void awaitRevisions(double writtenBefore, int expected) throws InterruptedException {
+        inTransaction(() -> postRepo.save(newPost("marker")));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (revisionsWritten() < writtenBefore + expected + 1) {
+            if (System.nanoTime() > deadline) throw new IllegalStateException("Audit outbox did not write in time");
+            Thread.sleep(10);
+        }
+        assertThat(revisionsWritten()).isEqualTo(writtenBefore + expected + 1);
+    }
+
+//    [entity, revision entity, revision type] per revision, oldest first
+    @SuppressWarnings("unchecked")
+    private List<Object[]> revisionsOf(Long postId) {
+        return new TransactionTemplate(transactionManager).execute(status -> AuditReaderFactory.get(entityManager)
+                .createQuery()
+                .forRevisionsOfEntity(PostEntity.class, false, true)
+                .add(AuditEntity.id().eq(postId))
+                .addOrder(AuditEntity.revisionNumber().asc())
+                .getResultList());
+    }
+}
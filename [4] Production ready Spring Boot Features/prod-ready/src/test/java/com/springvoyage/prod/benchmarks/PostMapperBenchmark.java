@@ -0,0 +1,70 @@
+package com.springvoyage.prod.benchmarks;
+
+import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.entities.PostEntity;
+import com.springvoyage.prod.mappers.ModelMapperPostMapper;
+import com.springvoyage.prod.mappers.PostMapStructMapper;
+import com.springvoyage.prod.mappers.PostMapper;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/*
+Per-call latency of the two mapping strategies selectable through "mapping.strategy".
+Run the main method; the GC profiler adds gc.alloc.rate.norm (bytes allocated per call) to the report.
+*/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostMapperBenchmark {
+
+    @Param({"generated", "modelmapper"})
+    private String strategy;
+
+    private PostMapper postMapper;
+    private PostEntity postEntity;
+    private PostDTO postDTO;
+
+    @Setup
+    public void setUp() {
+        postMapper = strategy.equals("generated")
+                ? Mappers.getMapper(PostMapStructMapper.class)
+                : new ModelMapperPostMapper(new ModelMapper());
+
+        postEntity = new PostEntity(42L, "Spring Voyage", "Production ready features", LocalDateTime.of(2024, 7, 7, 10, 0));
+        postDTO = postMapper.toDTO(postEntity);
+    }
+
+    @Benchmark
+    public PostDTO entityToDTO() {
+        return postMapper.toDTO(postEntity);
+    }
+
+    @Benchmark
+    public PostEntity dtoToEntity() {
+        return postMapper.toEntity(postDTO);
+    }
+
+    @Benchmark
+    public PostEntity dtoOntoEntity() {
+        postMapper.updateEntity(postDTO, postEntity);
+        return postEntity;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PostMapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
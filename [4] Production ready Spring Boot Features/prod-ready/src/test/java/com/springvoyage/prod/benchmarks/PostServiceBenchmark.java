@@ -0,0 +1,131 @@
+package com.springvoyage.prod.benchmarks;
+
+import com.springvoyage.prod.ProductionReadySpringBootFeaturesApplication;
+import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.dto.PostFeedDTO;
+import com.springvoyage.prod.dto.PostSliceDTO;
+import com.springvoyage.prod.services.PostService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+PostServiceImpl CRUD against an embedded H2 database (MySQL mode), including JPA auditing and Envers.
+Listings for a growing posts table: getAllPosts grows with postCount, the first page / feed step should not, and
+the feed step from the middle of the table (keyset cursor) should cost the same as the first one, unlike the
+OFFSET page at the same depth. The listings are query-cached between writes: pass
+--spring.jpa.properties.hibernate.cache.use_query_cache=false to compare the SQL itself.
+Throughput plus SampleTime (p50/p90/p99/p99.9 latency); run through the jmh profile or the main method for allocation rates.
+*/
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Param({"1000", "100000"})
+    private int postCount;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private long postId;
+    private long version;
+    private String middleCursor;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(ProductionReadySpringBootFeaturesApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        postService = context.getBean(PostService.class);
+
+        for (int i = 0; i < postCount; i += SEED_BATCH_SIZE) {
+            List<PostDTO> batch = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int j = i; j < Math.min(i + SEED_BATCH_SIZE, postCount); j++) batch.add(newPost(j));
+            postId = postService.createNewPosts(batch).getLast().getId();
+        }
+
+        PostFeedDTO step = postService.getPostFeed(null, 100);
+        for (int i = 100; i < postCount / 2 && step.nextCursor() != null; i += 100) {
+            step = postService.getPostFeed(step.nextCursor(), 100);
+        }
+        middleCursor = step.nextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public PostDTO createNewPost() {
+        return postService.createNewPost(newPost(version++));
+    }
+
+    @Benchmark
+    public PostDTO getPostById() {
+        return postService.getPostById(postId);
+    }
+
+    @Benchmark
+    public PostDTO updatePostById() {
+        return postService.updatePostById(postId, newPost(version++));
+    }
+
+    @Benchmark
+    public List<PostDTO> getAllPosts() {
+        return postService.getAllPosts();
+    }
+
+    @Benchmark
+    public PostSliceDTO getPostsFirstPage() {
+        return postService.getPosts(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public PostSliceDTO getPostsMiddlePage() {
+        return postService.getPosts(postCount / 2 / PAGE_SIZE, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public PostFeedDTO getPostFeedFirstStep() {
+        return postService.getPostFeed(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public PostFeedDTO getPostFeedMiddleStep() {
+        return postService.getPostFeed(middleCursor, PAGE_SIZE);
+    }
+
+    private static PostDTO newPost(long i) {
+        PostDTO postDTO = new PostDTO();
+        postDTO.setTitle("Post " + i);
+        postDTO.setDescription("Description of post " + i);
+        return postDTO;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PostServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
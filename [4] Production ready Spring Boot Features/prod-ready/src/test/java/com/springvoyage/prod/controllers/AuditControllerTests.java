@@ -0,0 +1,43 @@
+package com.springvoyage.prod.controllers;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+A revision page out of range is a 400 with an ApiError body saying why, on both audit listings.
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:auditpages;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class AuditControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @ParameterizedTest
+    @CsvSource({
+            "/audit/posts/1, -1, 20",
+            "/audit/posts/1, 0, 0",
+            "/audit/posts/1, 2147483647, 2",
+            "/audit/posts/1/history, -1, 20",
+            "/audit/posts/1/history, 0, 0"
+    })
+    void invalidPageIsBadRequestWithApiError(String path, int page, int size) throws Exception {
+        mockMvc.perform(get(path).param("page", String.valueOf(page)).param("size", String.valueOf(size)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.httpStatus").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").isNotEmpty());
+    }
+}
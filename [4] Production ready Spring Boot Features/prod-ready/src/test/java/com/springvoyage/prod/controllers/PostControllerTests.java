@@ -0,0 +1,128 @@
+package com.springvoyage.prod.controllers;
+
+import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.repo.PostRepo;
+import com.springvoyage.prod.services.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+Conditional GETs of a post and of the post list. A client sending back the ETag (or Last-Modified) it got gets a
+304 without a body until the post, or for the list any post, changes; then the new body comes with a new ETag.
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:postversions;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class PostControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepo postRepo;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        postRepo.deleteAll();
+        id = postService.createNewPosts(List.of(
+                new PostDTO(null, "First", "First description", null, null),
+                new PostDTO(null, "Second", "Second description", null, null))).getFirst().getId();
+    }
+
+    @Test
+    void unchangedPostIsNotModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/posts/{postId}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertThat(eTag).startsWith("W/");
+
+        mockMvc.perform(get("/posts/{postId}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/posts/{postId}", id).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void updatedPostIsSentAgain() throws Exception {
+        String eTag = mockMvc.perform(get("/posts/{postId}", id))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/posts/{postId}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Updated\", \"description\": \"Updated description\"}"))
+                .andExpect(status().isOk());
+
+        MvcResult updated = mockMvc.perform(get("/posts/{postId}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Updated"))
+                .andReturn();
+        String newETag = updated.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isNotEqualTo(eTag);
+
+        mockMvc.perform(get("/posts/{postId}", id).header(HttpHeaders.IF_NONE_MATCH, newETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void unknownPostIsNotFoundWhateverTheETag() throws Exception {
+        mockMvc.perform(get("/posts/{postId}", id + 1000).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void listIsNotModifiedUntilAPostIsCreated() throws Exception {
+        MvcResult first = mockMvc.perform(get("/posts"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/posts").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/posts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Third\", \"description\": \"Third description\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/posts").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+}
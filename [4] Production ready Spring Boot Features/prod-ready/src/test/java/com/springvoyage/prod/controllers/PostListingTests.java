@@ -0,0 +1,152 @@
+package com.springvoyage.prod.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.dto.PostFeedDTO;
+import com.springvoyage.prod.entities.PostEntity;
+import com.springvoyage.prod.repo.PostRepo;
+import com.springvoyage.prod.services.PostService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+The bounded listings over HTTP, as the "prod" profile runs them (posts.listing.allow-unbounded=false).
+Following nextCursor from the first feed step visits every post exactly once, newest first; a cursor the
+server did not hand out is a 400, and so is the unbounded GET /posts, even for a client holding its current ETag.
+Runs with the second-level and query cache on, as the feed queries are served from them between writes.
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:posts;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "posts.listing.allow-unbounded=false"
+})
+@AutoConfigureMockMvc
+class PostListingTests {
+
+    private static final int POSTS = 45;
+    private static final int STEP_SIZE = 20; // 20 + 20 + 5
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepo postRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        postRepo.deleteAll();
+        List<PostDTO> posts = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) posts.add(new PostDTO(null, "Post " + i, "Description " + i, null, null));
+        postService.createNewPosts(posts);
+    }
+
+    @Test
+    void feedVisitsEveryPostOnceNewestFirst() throws Exception {
+        List<PostFeedDTO> steps = walkFeed();
+
+        List<Long> newestFirst = postRepo.findAll().stream()
+                .sorted(Comparator.comparing(PostEntity::getCreatedAt).thenComparing(PostEntity::getId).reversed())
+                .map(PostEntity::getId)
+                .toList();
+        assertThat(postIds(steps)).containsExactlyElementsOf(newestFirst);
+        assertThat(steps).extracting(step -> step.posts().size()).containsExactly(20, 20, 5);
+    }
+
+//    A PUT body has no createdAt. The updated post must keep its date in the "posts" L2 region the cached feed
+//    queries are rebuilt from, otherwise its cursor would have no position
+    @Test
+    void feedAfterUpdateStillHasEveryPostWithItsDate() throws Exception {
+        List<Long> before = postIds(walkFeed()); // fills the query cache and the "posts" region
+        Long updated = before.get(POSTS / 2);
+        assertThat(entityManagerFactory.getCache().contains(PostEntity.class, updated)).isTrue();
+
+        mockMvc.perform(put("/posts/{postId}", updated)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Updated\", \"description\": \"Updated description\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createdAt").isNotEmpty());
+
+        List<PostDTO> after = walkFeed().stream().flatMap(step -> step.posts().stream()).toList();
+        assertThat(after).allSatisfy(post -> assertThat(post.getCreatedAt()).isNotNull());
+        assertThat(after).extracting(PostDTO::getId).containsExactlyElementsOf(before);
+        assertThat(postService.getPostById(updated).getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/posts/feed").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+
+        String wrongShape = Base64.getUrlEncoder().withoutPadding().encodeToString("1.2".getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(get("/posts/feed").param("cursor", wrongShape))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void unboundedListingIsRefusedBeforeTheETagCheck() throws Exception {
+        String eTag = postService.getPostsVersion().eTag();
+
+        mockMvc.perform(get("/posts").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isBadRequest());
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+//    Follows nextCursor from the first step to the last one
+    private List<PostFeedDTO> walkFeed() throws Exception {
+        List<PostFeedDTO> steps = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/posts/feed").param("size", String.valueOf(STEP_SIZE));
+            if (cursor != null) request.param("cursor", cursor);
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            PostFeedDTO step = objectMapper.readValue(body, PostFeedDTO.class);
+            steps.add(step);
+            cursor = step.nextCursor();
+        } while (cursor != null);
+        return steps;
+    }
+
+    private static List<Long> postIds(List<PostFeedDTO> steps) {
+        return steps.stream().flatMap(step -> step.posts().stream()).map(PostDTO::getId).toList();
+    }
+}
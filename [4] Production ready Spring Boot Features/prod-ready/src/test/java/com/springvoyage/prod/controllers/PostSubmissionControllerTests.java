@@ -0,0 +1,93 @@
+package com.springvoyage.prod.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springvoyage.prod.repo.PostRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+POST /posts in write-behind mode: 202 with a tracking id and a Location to poll. Waiting on .../completion answers
+once the background writer saved the post, after which polling shows it SAVED with its id and the row exists.
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:writebehind;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "posts.write-mode=write-behind"
+})
+@AutoConfigureMockMvc
+class PostSubmissionControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PostRepo postRepo;
+
+    @BeforeEach
+    void setUp() {
+        postRepo.deleteAll();
+    }
+
+    @Test
+    void acceptedPostIsSavedInTheBackground() throws Exception {
+        MvcResult accepted = mockMvc.perform(post("/posts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Queued\", \"description\": \"Queued description\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.trackingId").isNotEmpty())
+                .andExpect(jsonPath("$.acceptedAt").isNotEmpty())
+                .andReturn();
+        JsonNode submission = objectMapper.readTree(accepted.getResponse().getContentAsString());
+        String trackingId = submission.get("trackingId").asText();
+        assertThat(submission.get("status").asText()).isIn("QUEUED", "SAVED");
+        assertThat(accepted.getResponse().getHeader(HttpHeaders.LOCATION)).isEqualTo("/posts/submissions/" + trackingId);
+
+        MvcResult completion = mockMvc.perform(get("/posts/submissions/{trackingId}/completion", trackingId).param("waitSeconds", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(completion))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SAVED"))
+                .andExpect(jsonPath("$.post.id").isNotEmpty());
+
+        String saved = mockMvc.perform(get("/posts/submissions/{trackingId}", trackingId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SAVED"))
+                .andExpect(jsonPath("$.post.title").value("Queued"))
+                .andExpect(jsonPath("$.error").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        long postId = objectMapper.readTree(saved).get("post").get("id").asLong();
+        assertThat(postRepo.findById(postId)).get().extracting("title").isEqualTo("Queued");
+    }
+
+    @Test
+    void unknownTrackingIdIsNotFound() throws Exception {
+        mockMvc.perform(get("/posts/submissions/{trackingId}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/posts/submissions/{trackingId}/completion", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,58 @@
+package com.springvoyage.prod.services.impl;
+
+import com.springvoyage.prod.exceptions.InvalidListingRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+A cursor decodes to exactly the position it was encoded from, to the nanosecond.
+Anything else a client sends back is an InvalidListingRequestException (400), never a 500.
+*/
+class PostFeedCursorTests {
+
+    @Test
+    void datedCursorRoundTrips() {
+        PostFeedCursor cursor = new PostFeedCursor(LocalDateTime.of(2024, 7, 1, 12, 30, 15, 123_456_000), 42L);
+
+        assertThat(PostFeedCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void cursorBeforeTheEpochRoundTrips() {
+        PostFeedCursor cursor = new PostFeedCursor(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999), 1L);
+
+        assertThat(PostFeedCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new PostFeedCursor(LocalDateTime.of(2024, 7, 1, 12, 30), Long.MAX_VALUE).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not a cursor", "%%%", "MTcx"})
+    void malformedCursorIsRejected(String cursor) {
+        assertThatThrownBy(() -> PostFeedCursor.decode(cursor))
+                .isInstanceOf(InvalidListingRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1.2", "1.2.3.4", "a.0.1", "1.0.x", "-.x", "1.1000000000.1", "-", "."})
+    void wellEncodedButInvalidPositionIsRejected(String position) {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> PostFeedCursor.decode(cursor))
+                .isInstanceOf(InvalidListingRequestException.class);
+    }
+}
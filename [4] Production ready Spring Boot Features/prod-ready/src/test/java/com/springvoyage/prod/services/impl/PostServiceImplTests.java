@@ -0,0 +1,137 @@
+package com.springvoyage.prod.services.impl;
+
+import com.springvoyage.prod.configs.CacheConfig;
+import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.exceptions.ResourceNotFoundException;
+import com.springvoyage.prod.repo.PostRepo;
+import com.springvoyage.prod.services.PostService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+The posts cache in front of getPostById. A row changed behind the application's back (plain JDBC) is not seen while
+the post is cached; creating or updating a post through the service puts the new post into the cache, a failed
+update leaves it as it was and a missing post is never cached.
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:postcache;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false"
+})
+class PostServiceImplTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepo postRepo;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cache postsCache;
+
+    @BeforeEach
+    void setUp() {
+        postRepo.deleteAll();
+        postsCache = cacheManager.getCache(CacheConfig.POSTS_CACHE);
+        postsCache.clear();
+    }
+
+    @Test
+    void createPutsThePostIntoTheCache() {
+        PostDTO created = postService.createNewPost(post("First"));
+
+        assertThat(cachedTitle(created.getId())).isEqualTo("First");
+    }
+
+    @Test
+    void readsAreServedFromTheCache() {
+        Long id = createUncached("First");
+
+        assertThat(postService.getPostById(id).getTitle()).isEqualTo("First");
+        assertThat(cachedTitle(id)).isEqualTo("First");
+
+        retitleBehindTheCache(id, "Changed");
+
+        assertThat(postService.getPostById(id).getTitle()).isEqualTo("First");
+    }
+
+    @Test
+    void updateReplacesTheCachedPost() {
+        Long id = createUncached("First");
+        postService.getPostById(id);
+
+        postService.updatePostById(id, post("Updated"));
+
+        assertThat(cachedTitle(id)).isEqualTo("Updated");
+        assertThat(postService.getPostById(id).getTitle()).isEqualTo("Updated");
+        assertThat(postService.getPostById(id).getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void failedUpdateKeepsTheCachedPost() {
+        Long id = createUncached("First");
+        postService.getPostById(id);
+        long missingId = id + 1000;
+
+        assertThatThrownBy(() -> postService.updatePostById(missingId, post("Updated")))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(cachedTitle(id)).isEqualTo("First");
+        assertThat(postsCache.get(missingId)).isNull();
+    }
+
+    @Test
+    void missingPostIsNotCached() {
+        long missingId = createUncached("First") + 1000;
+
+        assertThatThrownBy(() -> postService.getPostById(missingId)).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(postsCache.get(missingId)).isNull();
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+//    Write-behind batches do not fill the posts cache, so the first getPostById is a miss
+    private Long createUncached(String title) {
+        Long id = postService.createNewPosts(List.of(post(title))).getFirst().getId();
+        assertThat(postsCache.get(id)).isNull();
+        return id;
+    }
+
+    private String cachedTitle(Long id) {
+        return postsCache.get(id, PostDTO.class).getTitle();
+    }
+
+//    The posts cache does not hear of this UPDATE; the second-level cache is emptied so only it can still answer
+    private void retitleBehindTheCache(Long id, String title) {
+        jdbcTemplate.update("UPDATE posts SET title = ? WHERE id = ?", title, id);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private static PostDTO post(String title) {
+        return new PostDTO(null, title, title + " description", null, null);
+    }
+}
@@ -0,0 +1,171 @@
+package com.springvoyage.prod.singleflight;
+
+import com.springvoyage.prod.exceptions.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+Many threads miss on the same key at once, the loader is held until all of them joined the flight.
+Exactly one load runs and every caller gets its value, or its exception; a caller that waits longer than the
+timeout gives up with ServiceBusyException while the load goes on.
+*/
+class SingleFlightTests {
+
+    private static final String NAME = "test";
+    private static final int THREADS = 16;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(NAME, Duration.ofSeconds(30), meterRegistry);
+
+        List<Future<String>> callers = startCallers(() -> singleFlight.load(1L, () -> {
+            loads.incrementAndGet();
+            awaitRelease();
+            return "post 1";
+        }));
+        awaitCoalesced(THREADS - 1);
+        release.countDown();
+
+        for (Future<String> caller : callers) assertThat(caller.get(1, TimeUnit.MINUTES)).isEqualTo("post 1");
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("single-flight.shared").tag("name", NAME).summary().max()).isEqualTo(THREADS);
+        assertThat(meterRegistry.get("single-flight.in-flight").tag("name", NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void loaderExceptionReachesEveryCaller() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(NAME, Duration.ofSeconds(30), meterRegistry);
+        IllegalStateException failure = new IllegalStateException("database down");
+
+        List<Future<String>> callers = startCallers(() -> singleFlight.load(1L, () -> {
+            loads.incrementAndGet();
+            awaitRelease();
+            throw failure;
+        }));
+        awaitCoalesced(THREADS - 1);
+        release.countDown();
+
+        for (Future<String> caller : callers) {
+            assertThatThrownBy(() -> caller.get(1, TimeUnit.MINUTES))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isSameAs(failure);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void joinedCallerGivesUpAfterTimeout() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(NAME, Duration.ofMillis(100), meterRegistry);
+
+        Future<String> leader = executor.submit(() -> singleFlight.load(1L, () -> {
+            loads.incrementAndGet();
+            awaitRelease();
+            return "post 1";
+        }));
+        awaitLoading();
+
+        assertThatThrownBy(() -> singleFlight.load(1L, () -> "not loaded"))
+                .isInstanceOf(ServiceBusyException.class);
+        assertThat(meterRegistry.get("single-flight.timeouts").tag("name", NAME).counter().count()).isEqualTo(1);
+
+        // The slow load itself is not cancelled
+        release.countDown();
+        assertThat(leader.get(1, TimeUnit.MINUTES)).isEqualTo("post 1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void completedFlightIsNotCached() {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(NAME, Duration.ofSeconds(30), meterRegistry);
+
+        singleFlight.load(1L, () -> "post " + loads.incrementAndGet());
+        String second = singleFlight.load(1L, () -> "post " + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("post 2");
+        assertThat(meterRegistry.get("single-flight.loads").tag("name", NAME).counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("single-flight.coalesced").tag("name", NAME).counter().count()).isZero();
+    }
+
+    @Test
+    void differentKeysDoNotShare() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(NAME, Duration.ofSeconds(30), meterRegistry);
+
+        Future<String> first = executor.submit(() -> singleFlight.load(1L, () -> {
+            loads.incrementAndGet();
+            awaitRelease();
+            return "post 1";
+        }));
+        awaitLoading();
+
+        assertThat(singleFlight.load(2L, () -> "post 2")).isEqualTo("post 2");
+        release.countDown();
+        assertThat(first.get(1, TimeUnit.MINUTES)).isEqualTo("post 1");
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+//    Starts all threads at once
+    private List<Future<String>> startCallers(Callable<String> call) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return call.call();
+            }));
+        }
+        start.countDown();
+        return futures;
+    }
+
+    private void awaitRelease() {
+        try {
+            if (!release.await(1, TimeUnit.MINUTES)) throw new IllegalStateException("Loader never released");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitLoading() throws InterruptedException {
+        awaitUntil(() -> loads.get() == 1);
+    }
+
+    private void awaitCoalesced(int callers) throws InterruptedException {
+        awaitUntil(() -> meterRegistry.get("single-flight.coalesced").tag("name", NAME).counter().count() == callers);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) throw new IllegalStateException("Timed out waiting for the callers");
+            Thread.sleep(5);
+        }
+    }
+}
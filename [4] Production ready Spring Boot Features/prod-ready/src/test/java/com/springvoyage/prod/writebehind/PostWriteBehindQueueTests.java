@@ -0,0 +1,178 @@
+package com.springvoyage.prod.writebehind;
+
+import com.springvoyage.prod.dto.PostDTO;
+import com.springvoyage.prod.dto.PostSubmissionDTO;
+import com.springvoyage.prod.exceptions.ServiceBusyException;
+import com.springvoyage.prod.services.PostService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+The queue with a mocked PostService, whose first batch can be held back to let posts pile up behind it.
+Queued posts are saved in batches, a failed batch is retried post by post, a full queue rejects with 503, and
+stop() saves whatever was accepted before it and rejects every post after it.
+*/
+class PostWriteBehindQueueTests {
+
+    private final PostService postService = mock(PostService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong ids = new AtomicLong();
+    private final List<List<String>> batches = new ArrayList<>();
+    private final CountDownLatch firstBatchWriting = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+
+    private PostWriteBehindQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        releaseFirstBatch.countDown();
+        if (queue != null && queue.isRunning()) queue.stop();
+    }
+
+    @Test
+    void postsQueuedBehindABatchAreSavedInOneBatch() throws Exception {
+        when(postService.createNewPosts(anyList())).thenAnswer(this::saveHoldingTheFirstBatch);
+        queue = start(10, 100);
+
+        PostSubmission first = queue.submit(post("First"));
+        assertThat(firstBatchWriting.await(5, TimeUnit.SECONDS)).isTrue();
+        List<PostSubmission> queued = List.of(queue.submit(post("Second")), queue.submit(post("Third")));
+        assertThat(queued).allSatisfy(submission ->
+                assertThat(submission.toDTO().getStatus()).isEqualTo(PostSubmissionDTO.Status.QUEUED));
+
+        releaseFirstBatch.countDown();
+        awaitDone(queued.toArray(PostSubmission[]::new));
+        queue.stop(); // the worker counts a batch as saved after completing its posts
+
+        assertThat(first.toDTO().getPost().getTitle()).isEqualTo("First");
+        assertThat(queued).allSatisfy(submission -> {
+            PostSubmissionDTO status = submission.toDTO();
+            assertThat(status.getStatus()).isEqualTo(PostSubmissionDTO.Status.SAVED);
+            assertThat(status.getPost().getId()).isNotNull();
+        });
+        assertThat(batches).containsExactly(List.of("First"), List.of("Second", "Third"));
+        assertThat(queue.findSubmission(first.trackingId())).containsSame(first);
+        assertThat(meterRegistry.counter("posts.write-behind.saved").count()).isEqualTo(3);
+    }
+
+    @Test
+    void failedBatchIsRetriedPostByPost() throws Exception {
+        when(postService.createNewPosts(anyList())).thenThrow(new IllegalStateException("Batch failed"));
+        when(postService.createNewPost(any())).thenAnswer(invocation -> {
+            PostDTO post = invocation.getArgument(0);
+            if (post.getTitle() == null) throw new IllegalArgumentException("Title is required\nINSERT INTO posts ...");
+            return saved(post);
+        });
+        queue = start(10, 100);
+
+        PostSubmission good = queue.submit(post("Good"));
+        PostSubmission bad = queue.submit(post(null));
+        awaitDone(good, bad);
+
+        assertThat(good.toDTO().getStatus()).isEqualTo(PostSubmissionDTO.Status.SAVED);
+        PostSubmissionDTO failed = bad.toDTO();
+        assertThat(failed.getStatus()).isEqualTo(PostSubmissionDTO.Status.FAILED);
+        assertThat(failed.getError()).isEqualTo("Title is required");
+        assertThat(meterRegistry.counter("posts.write-behind.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void fullQueueRejectsPosts() throws Exception {
+        when(postService.createNewPosts(anyList())).thenAnswer(this::saveHoldingTheFirstBatch);
+        queue = start(1, 100);
+
+        queue.submit(post("Writing"));
+        assertThat(firstBatchWriting.await(5, TimeUnit.SECONDS)).isTrue();
+        queue.submit(post("Waiting"));
+
+        assertThatThrownBy(() -> queue.submit(post("Rejected"))).isInstanceOf(ServiceBusyException.class);
+        assertThat(meterRegistry.counter("posts.write-behind.rejected").count()).isEqualTo(1);
+    }
+
+//    stop() runs while a batch is still being written: the posts queued behind it are saved before stop() returns
+    @Test
+    void stopSavesEveryAcceptedPost() throws Exception {
+        when(postService.createNewPosts(anyList())).thenAnswer(this::saveHoldingTheFirstBatch);
+        queue = start(10, 2);
+
+        queue.submit(post("First"));
+        assertThat(firstBatchWriting.await(5, TimeUnit.SECONDS)).isTrue();
+        List<PostSubmission> queued = new ArrayList<>();
+        for (int i = 0; i < 5; i++) queued.add(queue.submit(post("Queued " + i)));
+
+        Thread stopping = Thread.ofPlatform().start(queue::stop);
+        while (queue.isRunning()) Thread.onSpinWait();
+        assertThatThrownBy(() -> queue.submit(post("Too late"))).isInstanceOf(ServiceBusyException.class);
+        releaseFirstBatch.countDown();
+        stopping.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertThat(stopping.isAlive()).isFalse();
+        assertThat(queued).allSatisfy(submission ->
+                assertThat(submission.toDTO().getStatus()).isEqualTo(PostSubmissionDTO.Status.SAVED));
+        assertThat(batches).hasSize(4); // First, then the five queued ones two at a time
+        assertThat(meterRegistry.counter("posts.write-behind.saved").count()).isEqualTo(6);
+    }
+
+/*
+------------------------------------------------------------------------------------------------
+HELPER FUNCTIONS
+------------------------------------------------------------------------------------------------
+*/
+    private PostWriteBehindQueue start(int queueCapacity, int batchSize) {
+        PostWriteBehindQueue writeBehindQueue = new PostWriteBehindQueue(postService, meterRegistry,
+                queueCapacity, batchSize, Duration.ofMinutes(10));
+        writeBehindQueue.start();
+        return writeBehindQueue;
+    }
+
+//    Answer of createNewPosts: the first call waits until the test releases it
+    private List<PostDTO> saveHoldingTheFirstBatch(InvocationOnMock invocation) throws InterruptedException {
+        List<PostDTO> posts = invocation.getArgument(0);
+        synchronized (batches) {
+            batches.add(posts.stream().map(PostDTO::getTitle).toList());
+        }
+        if (firstBatchWriting.getCount() > 0) {
+            firstBatchWriting.countDown();
+            assertThat(releaseFirstBatch.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+        return posts.stream().map(this::saved).toList();
+    }
+
+    private PostDTO saved(PostDTO post) {
+        return new PostDTO(ids.incrementAndGet(), post.getTitle(), post.getDescription(), null, null);
+    }
+
+    private static void awaitDone(PostSubmission... submissions) throws InterruptedException {
+        for (PostSubmission submission : submissions) {
+            try {
+                submission.result().get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                // FAILED, checked by the test
+            } catch (TimeoutException e) {
+                throw new AssertionError("Submission not done: " + submission.trackingId(), e);
+            }
+        }
+    }
+
+    private static PostDTO post(String title) {
+        return new PostDTO(null, title, "Description", null, null);
+    }
+}
@@ -0,0 +1,127 @@
+#!/usr/bin/env bash
+#
+# Time-to-first-request of every module, plain jar vs. the "startup" build (AOT + CDS archive + lazy beans).
+#
+#   ./startup-benchmark.sh                      all modules, 5 runs per mode
+#   ./startup-benchmark.sh mvc prod             only these modules
+#   RUNS=10 SKIP_BUILD=1 ./startup-benchmark.sh reuse the last build
+#
+# Measured from launching the JVM until the module's probe URL answers with any HTTP status, so it includes
+# JVM start, context refresh and the work the first request pays for (lazy beans, first Hibernate session...).
+# Results are printed (min / median) and appended to startup-benchmark.csv so runs can be compared over time.
+#
+# Env:
+#   MVN             maven command (default: mvn)
+#   RUNS            runs per module and mode (default: 5)
+#   PORT            port the apps are started on (default: 18080)
+#   WORK_DIR        where the startup builds are extracted (default: /tmp/spring-voyage-startup).
+#                   CDS does not archive classes from paths with spaces or brackets, so it stays outside the repo.
+#   SKIP_BUILD=1    don't rebuild, benchmark what is already in WORK_DIR / target
+#   <MODULE>_ARGS   extra app arguments of one module, e.g. PROD_ARGS="--spring.datasource.password=secret"
+#                   hibernate and prod need their MySQL database, mvc defaults to an in-memory H2 database
+#
+set -uo pipefail
+
+ROOT=$(cd "$(dirname "$0")" && pwd)
+MVN=${MVN:-mvn}
+RUNS=${RUNS:-5}
+PORT=${PORT:-18080}
+WORK_DIR=${WORK_DIR:-/tmp/spring-voyage-startup}
+RESULTS="$ROOT/startup-benchmark.csv"
+TIMEOUT_SECONDS=120
+
+# module | directory | probe path | JVM options | default app arguments
+MODULES=(
+    "intro|[1] Introduction to Spring & Spring Boot/intro-springboot|/||"
+    "mvc|[2] Spring Boot MVC and RESTful APIs/mvc-restful-api|/employees/empService|--enable-preview|--spring.datasource.url=jdbc:h2:mem:startup-benchmark"
+    "hibernate|[3] Hibernate and Spring Boot Data JPA/Hibernate-and-Spring-Boot-Data-JPA|/products/1||"
+    "prod|[4] Production ready Spring Boot Features/prod-ready|/posts||"
+)
+
+# ------------------------------------------------------------------------------------------------
+# HELPER FUNCTIONS
+# ------------------------------------------------------------------------------------------------
+
+now_millis() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+build() { # <name> <directory>
+    echo "Building $1 with -Pstartup ..."
+    (cd "$ROOT/$2" && $MVN -B -Pstartup -DskipTests "-Dstartup.directory=$WORK_DIR/$1" clean package) > "$WORK_DIR/$1-build.log" 2>&1 || {
+        echo "  build failed, skipping $1, see $WORK_DIR/$1-build.log" >&2
+        return 1
+    }
+}
+
+# Starts the app, waits for the first HTTP answer and prints the elapsed milliseconds (nothing on failure)
+time_first_request() { # <log file> <probe path> <java args...>
+    local log=$1 probe=$2
+    shift 2
+    local start pid status
+    start=$(now_millis)
+    java "$@" > "$log" 2>&1 &
+    pid=$!
+    while (( $(now_millis) - start < TIMEOUT_SECONDS * 1000 )); do
+        status=$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT$probe" || true)
+        if [[ "$status" != "000" ]]; then
+            echo $(( $(now_millis) - start ))
+            break
+        fi
+        kill -0 "$pid" 2> /dev/null || break # the app died, see the log
+        sleep 0.02
+    done
+    kill "$pid" 2> /dev/null
+    wait "$pid" 2> /dev/null
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR % 2) print v[(NR + 1) / 2]; else print int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+benchmark() { # <name> <mode> <probe> <java args...>
+    local name=$1 mode=$2 probe=$3
+    shift 3
+    local log="$WORK_DIR/$name-$mode.log" timings=() millis
+    for run in $(seq 1 "$RUNS"); do
+        millis=$(time_first_request "$log" "$probe" "$@")
+        if [[ -z "$millis" ]]; then
+            echo "  $mode: no response within ${TIMEOUT_SECONDS}s, see $log" >&2
+            return 1
+        fi
+        timings+=("$millis")
+        echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),$name,$mode,$run,$millis" >> "$RESULTS"
+    done
+    printf '  %-8s min %6d ms   median %6d ms   (%s)\n' "$mode" \
+        "$(printf '%s\n' "${timings[@]}" | sort -n | head -1)" \
+        "$(printf '%s\n' "${timings[@]}" | median)" "${timings[*]}"
+}
+
+# ------------------------------------------------------------------------------------------------
+
+mkdir -p "$WORK_DIR"
+[[ -f "$RESULTS" ]] || echo "timestamp,module,mode,run,millis" > "$RESULTS"
+selected=("$@")
+
+for module in "${MODULES[@]}"; do
+    IFS='|' read -r name dir probe jvm_options default_args <<< "$module"
+    [[ ${#selected[@]} -eq 0 || " ${selected[*]} " == *" $name "* ]] || continue
+
+    args_variable="$(echo "$name" | tr '[:lower:]' '[:upper:]')_ARGS"
+    read -r -a app_args <<< "$default_args ${!args_variable:-} --server.port=$PORT"
+    read -r -a jvm <<< "$jvm_options"
+
+    if [[ -z "${SKIP_BUILD:-}" ]]; then build "$name" "$dir" || continue; fi
+    jar=$(ls "$ROOT/$dir"/target/*.jar 2> /dev/null | grep -v '\.original$' | head -1)
+    if [[ -z "$jar" || ! -f "$WORK_DIR/$name/application.jsa" ]]; then
+        echo "$name: no startup build in $WORK_DIR/$name, run without SKIP_BUILD" >&2
+        continue
+    fi
+
+    echo "$name (first request: $probe)"
+    # Same jar both times: the AOT classes it contains are only used with -Dspring.aot.enabled=true
+    benchmark "$name" default "$probe" "${jvm[@]}" -jar "$jar" "${app_args[@]}"
+    # The extracted layout the archive was trained on, it is only used from there
+    (cd "$WORK_DIR/$name" && benchmark "$name" startup "$probe" "${jvm[@]}" -XX:SharedArchiveFile=application.jsa \
+        -Dspring.aot.enabled=true -Dspring.profiles.active=startup -jar "$(basename "$jar")" "${app_args[@]}")
+done